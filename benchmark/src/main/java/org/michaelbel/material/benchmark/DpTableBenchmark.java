@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.benchmark;
+
+import org.michaelbel.material.extensions.DpTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The dp conversion behind LayoutHelper.Builder. The LayoutParams themselves need the framework.
+@SuppressWarnings("all")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DpTableBenchmark {
+
+    // A typical screen: sizes, paddings and margins, mostly whole values.
+    private static final float[] VALUES = new float[] {
+        48, 56, 16, 8, 4, 72, 24, 12, 0.5f, 1, 300, 2, 36, 64, 6, 200
+    };
+
+    @Param({"2.625", "3.0"})
+    public float density;
+
+    private DpTable table;
+
+    @Setup
+    public void setUp() {
+        table = DpTable.obtain(density);
+    }
+
+    // Extensions.dp() without the Resources lookup.
+    @Benchmark
+    public int extensionsDp() {
+        int sum = 0;
+        for (float value : VALUES) {
+            sum += (int) Math.ceil(density * value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int builderDp() {
+        int sum = 0;
+        for (float value : VALUES) {
+            sum += table.dp(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int obtainAndDp() {
+        return DpTable.obtain(density).dp(48);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.benchmark;
+
+import org.michaelbel.material.extensions.HsvColors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("all")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HsvColorsBenchmark {
+
+    private static final int COLOR_COUNT = 1024;
+
+    private final int[] reds = new int[COLOR_COUNT];
+    private final int[] greens = new int[COLOR_COUNT];
+    private final int[] blues = new int[COLOR_COUNT];
+    private final double[][] hsv = new double[COLOR_COUNT][];
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            reds[i] = random.nextInt(256);
+            greens[i] = random.nextInt(256);
+            blues[i] = random.nextInt(256);
+            hsv[i] = HsvColors.rgbToHsv(reds[i], greens[i], blues[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] rgbToHsv() {
+        int i = next();
+        return HsvColors.rgbToHsv(reds[i], greens[i], blues[i]);
+    }
+
+    @Benchmark
+    public int[] hsvToRgb() {
+        double[] color = hsv[next()];
+        return HsvColors.hsvToRgb(color[0], color[1], color[2]);
+    }
+
+    @Benchmark
+    public int[] roundTrip() {
+        int i = next();
+        double[] color = HsvColors.rgbToHsv(reds[i], greens[i], blues[i]);
+        return HsvColors.hsvToRgb(color[0], color[1], color[2]);
+    }
+
+    private int next() {
+        index = (index + 1) & (COLOR_COUNT - 1);
+        return index;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.benchmark;
+
+import org.michaelbel.material.extensions.UnitFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("all")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitFormatterBenchmark {
+
+    @Param({"512", "1536", "734003200", "1099511627776"})
+    public long size;
+
+    private StringBuilder builder;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        builder = new StringBuilder(32);
+        buffer = new char[32];
+    }
+
+    @Benchmark
+    public String legacyFormatSize() {
+        return legacyFormatSize(size);
+    }
+
+    // What Extensions.formatSize() does on every call.
+    @Benchmark
+    public String extensionsFormatSize() {
+        return UnitFormatter.formatSize(size, new StringBuilder(16)).toString();
+    }
+
+    @Benchmark
+    public String formatSizeToString() {
+        builder.setLength(0);
+        return UnitFormatter.formatSize(size, builder).toString();
+    }
+
+    @Benchmark
+    public StringBuilder formatSizeIntoBuilder() {
+        builder.setLength(0);
+        return UnitFormatter.formatSize(size, builder);
+    }
+
+    @Benchmark
+    public int formatSizeIntoCharArray() {
+        return UnitFormatter.formatSize(size, buffer, 0);
+    }
+
+    // The String.format based Extensions.formatSize that UnitFormatter replaced.
+    private static String legacyFormatSize(long size) {
+        if (size < 1024) {
+            return String.format(Locale.getDefault(), "%d B", size);
+        } else if (size < Math.pow(1024, 2)) {
+            return String.format(Locale.getDefault(), "%.1f KB", size / 1024.0F);
+        } else if (size < Math.pow(1024, 3)) {
+            return String.format(Locale.getDefault(), "%.1f MB", size / Math.pow(1024.0F, 2));
+        } else if (size < Math.pow(1024, 4)) {
+            return String.format(Locale.getDefault(), "%.1f GB", size / Math.pow(1024.0F, 3));
+        } else if (size < Math.pow(1024, 5)) {
+            return String.format(Locale.getDefault(), "%.1f TB", size / Math.pow(1024.0F, 4));
+        } else if (size < Math.pow(1024, 6)) {
+            return String.format(Locale.getDefault(), "%.1f PB", size / Math.pow(1024.0F, 5));
+        } else {
+            return String.format(Locale.getDefault(), "%.1f EB", size / Math.pow(1024.0F, 6));
+        }
+    }
+}
\ No newline at end of file
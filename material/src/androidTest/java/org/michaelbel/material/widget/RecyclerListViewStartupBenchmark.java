@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.view.ContextThemeWrapper;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.michaelbel.material.R;
+
+import java.util.Arrays;
+
+@SuppressWarnings("all")
+@RunWith(AndroidJUnit4.class)
+public class RecyclerListViewStartupBenchmark {
+
+    private static final String TAG = "RecyclerListViewBench";
+
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    // Reports the median construction time next to a plain RecyclerView,
+    // the difference is the cost of the scrollbar and gesture setup.
+    @Test
+    public void construct() {
+        final Context context = new ContextThemeWrapper(InstrumentationRegistry.getTargetContext(), R.style.Theme_AppCompat);
+        final long[] plain = new long[ITERATIONS];
+        final long[] list = new long[ITERATIONS];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < WARMUP; i++) {
+                    new RecyclerView(context);
+                    new RecyclerListView(context);
+                }
+
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long start = System.nanoTime();
+                    new RecyclerView(context);
+                    plain[i] = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    new RecyclerListView(context);
+                    list[i] = System.nanoTime() - start;
+                }
+            }
+        });
+
+        Bundle results = new Bundle();
+        results.putLong("recycler_view_median_ns", median(plain));
+        results.putLong("recycler_list_view_median_ns", median(list));
+        Log.i(TAG, results.toString());
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
\ No newline at end of file
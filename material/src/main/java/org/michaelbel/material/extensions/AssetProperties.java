@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.extensions;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+@SuppressWarnings("all")
+public final class AssetProperties {
+
+    private static final ConcurrentHashMap<String, FutureTask<AssetProperties>> sStores = new ConcurrentHashMap<>();
+
+    private final Map<String, String> mValues;
+
+    private AssetProperties(Map<String, String> values) {
+        mValues = values;
+    }
+
+    public static AssetProperties get(@NonNull Context context, @NonNull String fileName) {
+        FutureTask<AssetProperties> task = obtainTask(context, fileName);
+
+        // Parses on the calling thread unless a preload already started it.
+        task.run();
+
+        try {
+            return task.get();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new AssetProperties(Collections.<String, String>emptyMap());
+        }
+    }
+
+    public static void preload(@NonNull Context context, @NonNull String fileName, @NonNull Executor executor) {
+        executor.execute(obtainTask(context, fileName));
+    }
+
+    private static FutureTask<AssetProperties> obtainTask(Context context, final String fileName) {
+        FutureTask<AssetProperties> task = sStores.get(fileName);
+        if (task != null) {
+            return task;
+        }
+
+        final AssetManager assetManager = context.getApplicationContext() != null ? context.getApplicationContext().getAssets() : context.getAssets();
+        task = new FutureTask<>(new Callable<AssetProperties>() {
+            @Override
+            public AssetProperties call() {
+                return new AssetProperties(load(assetManager, fileName));
+            }
+        });
+
+        FutureTask<AssetProperties> current = sStores.putIfAbsent(fileName, task);
+        return current != null ? current : task;
+    }
+
+    private static Map<String, String> load(AssetManager assetManager, String fileName) {
+        Properties properties = new Properties();
+
+        try {
+            if (!loadMapped(assetManager, fileName, properties)) {
+                InputStream inputStream = assetManager.open(fileName);
+                try {
+                    properties.load(inputStream);
+                } finally {
+                    inputStream.close();
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+
+        return Collections.unmodifiableMap(values);
+    }
+
+    // Only assets stored uncompressed in the APK can be opened as a file descriptor.
+    private static boolean loadMapped(AssetManager assetManager, String fileName, Properties properties) throws IOException {
+        AssetFileDescriptor descriptor;
+
+        try {
+            descriptor = assetManager.openFd(fileName);
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+
+        try {
+            FileInputStream inputStream = new FileInputStream(descriptor.getFileDescriptor());
+            try {
+                FileChannel channel = inputStream.getChannel();
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, descriptor.getStartOffset(), descriptor.getLength());
+                properties.load(new ByteBufferInputStream(buffer));
+            } finally {
+                inputStream.close();
+            }
+        } finally {
+            descriptor.close();
+        }
+
+        return true;
+    }
+
+    public boolean contains(String key) {
+        return mValues.containsKey(key);
+    }
+
+    @Nullable
+    public String getString(String key) {
+        return mValues.get(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = mValues.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = mValues.get(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = mValues.get(key);
+
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = mValues.get(key);
+
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public float getFloat(String key, float defaultValue) {
+        String value = mValues.get(key);
+
+        try {
+            return value != null ? Float.parseFloat(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public Map<String, String> getAll() {
+        return mValues;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer mBuffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return mBuffer.hasRemaining() ? mBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!mBuffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, mBuffer.remaining());
+            mBuffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return mBuffer.remaining();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.extensions;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.support.annotation.NonNull;
+import android.util.DisplayMetrics;
+import android.view.WindowManager;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SuppressWarnings("all")
+public final class DisplaySnapshot {
+
+    // Snapshots are immutable and replaced as a whole, so readers never need a lock.
+    // Each one belongs to the configuration it was taken in: a context in another
+    // configuration, e.g. an activity in multi-window mode, gets its own window size.
+    private static volatile DisplaySnapshot sCurrent;
+    private static final AtomicBoolean sRegistered = new AtomicBoolean();
+
+    public final int widthPixels;
+    public final int heightPixels;
+    public final int statusBarHeight;
+    public final float density;
+    public final int densityDpi;
+
+    private final Configuration mConfiguration;
+
+    private DisplaySnapshot(Context context, Configuration configuration) {
+        mConfiguration = new Configuration(configuration);
+
+        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        DisplayMetrics displayMetrics = new DisplayMetrics();
+        windowManager.getDefaultDisplay().getMetrics(displayMetrics);
+
+        widthPixels = displayMetrics.widthPixels;
+        heightPixels = displayMetrics.heightPixels;
+        density = displayMetrics.density;
+        densityDpi = displayMetrics.densityDpi;
+
+        Resources resources = context.getResources();
+        int resId = resources.getIdentifier("status_bar_height", "dimen", "android");
+        statusBarHeight = resId > 0 ? resources.getDimensionPixelSize(resId) : 0;
+    }
+
+    public static DisplaySnapshot get(@NonNull Context context) {
+        Configuration configuration = context.getResources().getConfiguration();
+        DisplaySnapshot snapshot = sCurrent;
+
+        if (snapshot != null && snapshot.mConfiguration.equals(configuration)) {
+            return snapshot;
+        }
+
+        if (sRegistered.compareAndSet(false, true)) {
+            Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+            appContext.registerComponentCallbacks(new ComponentCallbacks() {
+                @Override
+                public void onConfigurationChanged(Configuration newConfig) {
+                    sCurrent = null;
+                }
+
+                @Override
+                public void onLowMemory() {}
+            });
+        }
+
+        // Measured through the caller's own WindowManager, which reports the window size in multi-window mode.
+        snapshot = new DisplaySnapshot(context, configuration);
+        sCurrent = snapshot;
+        return snapshot;
+    }
+
+    public static void invalidate() {
+        sCurrent = null;
+    }
+}
\ No newline at end of file
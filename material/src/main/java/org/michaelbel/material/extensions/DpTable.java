@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.extensions;
+
+@SuppressWarnings("all")
+public final class DpTable {
+
+    private static final int SIZE = 256;
+
+    // Shared until the density changes.
+    private static volatile DpTable sTable;
+
+    private final float mDensity;
+    private final int[] mValues = new int[SIZE];
+
+    private DpTable(float density) {
+        mDensity = density;
+        for (int i = 0; i < SIZE; i++) {
+            mValues[i] = (int) Math.ceil(density * i);
+        }
+    }
+
+    public static DpTable obtain(float density) {
+        DpTable table = sTable;
+
+        if (table == null || table.mDensity != density) {
+            table = new DpTable(density);
+            sTable = table;
+        }
+
+        return table;
+    }
+
+    public float getDensity() {
+        return mDensity;
+    }
+
+    // Same rounding as Extensions.dp(), with whole values below 256 read from the table.
+    public int dp(float value) {
+        if (value < 0) {
+            return (int) value;
+        }
+
+        int index = (int) value;
+        if (index == value && index < SIZE) {
+            return mValues[index];
+        }
+
+        return (int) Math.ceil(mDensity * value);
+    }
+}
\ No newline at end of file
@@ -21,12 +21,13 @@ import android.app.KeyguardManager;
 import android.content.ClipData;
 import android.content.ClipboardManager;
 import android.content.Context;
-import android.content.res.AssetManager;
 import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.Color;
+import android.graphics.ColorFilter;
 import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.support.annotation.ArrayRes;
@@ -37,21 +38,34 @@ import android.support.annotation.FloatRange;
 import android.support.annotation.NonNull;
 import android.support.v4.content.ContextCompat;
 import android.util.DisplayMetrics;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.View;
-import android.view.WindowManager;
 import android.widget.EditText;
 import android.widget.TextView;
 
 import org.michaelbel.material.R;
 
-import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
-import java.util.Locale;
-import java.util.Properties;
+import java.util.WeakHashMap;
 
 @SuppressWarnings("all")
 public class Extensions {
 
+    private static final WeakHashMap<Resources.Theme, ThemeAttrs> sThemeAttrs = new WeakHashMap<>();
+
+    private static final int ICON_CACHE_SIZE = 1024 * 1024;
+
+    // Sized by the estimated ARGB_8888 footprint of each icon.
+    private static final LruCache<IconKey, TintedIcon> sIcons = new LruCache<IconKey, TintedIcon>(ICON_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(IconKey key, TintedIcon icon) {
+            return icon.byteCount;
+        }
+    };
+
     public static int dp(@NonNull Context context,  float value) {
         return (int) Math.ceil(context.getResources().getDisplayMetrics().density * value);
     }
@@ -74,75 +88,11 @@ public class Extensions {
     }
 
     public static double[] rgbToHsv(int r, int g, int b) {
-        double rf = r / 255.0;
-        double gf = g / 255.0;
-        double bf = b / 255.0;
-        double max = (rf > gf && rf > bf) ? rf : (gf > bf) ? gf : bf;
-        double min = (rf < gf && rf < bf) ? rf : (gf < bf) ? gf : bf;
-        double h, s;
-        double d = max - min;
-
-        s = max == 0 ? 0 : d / max;
-
-        if (max == min) {
-            h = 0;
-        } else {
-            if (rf > gf && rf > bf) {
-                h = (gf - bf) / d + (gf < bf ? 6 : 0);
-            } else if (gf > bf) {
-                h = (bf - rf) / d + 2;
-            } else {
-                h = (rf - gf) / d + 4;
-            }
-
-            h /= 6;
-        }
-
-        return new double[]{ h, s, max };
+        return HsvColors.rgbToHsv(r, g, b);
     }
 
     public static int[] hsvToRgb(double h, double s, double v) {
-        double r = 0, g = 0, b = 0;
-        double i = (int) Math.floor(h * 6);
-        double f = h * 6 - i;
-        double p = v * (1 - s);
-        double q = v * (1 - f * s);
-        double t = v * (1 - (1 - f) * s);
-
-        switch ((int) i % 6) {
-            case 0:
-                r = v;
-                g = t;
-                b = p;
-                break;
-            case 1:
-                r = q;
-                g = v;
-                b = p;
-                break;
-            case 2:
-                r = p;
-                g = v;
-                b = t;
-                break;
-            case 3:
-                r = p;
-                g = q;
-                b = v;
-                break;
-            case 4:
-                r = t;
-                g = p;
-                b = v;
-                break;
-            case 5:
-                r = v;
-                g = p;
-                b = q;
-                break;
-        }
-
-        return new int[]{(int) (r * 255), (int) (g * 255), (int) (b * 255)};
+        return HsvColors.hsvToRgb(h, s, v);
     }
 
     @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
@@ -161,61 +111,27 @@ public class Extensions {
     }
 
     public static int selectableItemBackground(Context context) {
-        int[] attrs = new int[] {
-                R.attr.selectableItemBackground
-        };
-
-        TypedArray typedArray = context.obtainStyledAttributes(attrs);
-        int backgroundResource = typedArray.getResourceId(0, 0);
-        typedArray.recycle();
-        return backgroundResource;
+        return resolveResourceId(context, R.attr.selectableItemBackground);
     }
 
     public static int selectableItemBackgroundBorderless(Context context) {
-        int[] attrs = new int[] {
-                R.attr.selectableItemBackgroundBorderless
-        };
-
-        TypedArray typedArray = context.obtainStyledAttributes(attrs);
-        int backgroundResource = typedArray.getResourceId(0, 0);
-        typedArray.recycle();
-        return backgroundResource;
+        return resolveResourceId(context, R.attr.selectableItemBackgroundBorderless);
     }
 
     public static Drawable selectableItemBackgroundDrawable(Context context) {
-        int[] attrs = new int[] {
-                android.R.attr.selectableItemBackground
-        };
-
-        TypedArray typedArray = context.obtainStyledAttributes(attrs);
-        Drawable drawableFromTheme = typedArray.getDrawable(0);
-        typedArray.recycle();
-        return drawableFromTheme;
+        return resolveDrawable(context, android.R.attr.selectableItemBackground);
     }
 
     public static Drawable selectableItemBackgroundBorderlessDrawable(Context context) {
-        int[] attrs = new int[] {
-                android.R.attr.selectableItemBackgroundBorderless
-        };
-
-        TypedArray typedArray = context.obtainStyledAttributes(attrs);
-        Drawable drawableFromTheme = typedArray.getDrawable(0);
-        typedArray.recycle();
-        return drawableFromTheme;
+        return resolveDrawable(context, android.R.attr.selectableItemBackgroundBorderless);
     }
 
     public static int getScreenWidth(Context context) {
-        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
-        DisplayMetrics displayMetrics = new DisplayMetrics();
-        windowManager.getDefaultDisplay().getMetrics(displayMetrics);
-        return displayMetrics.widthPixels;
+        return DisplaySnapshot.get(context).widthPixels;
     }
 
     public static int getScreenHeight(Context context) {
-        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
-        DisplayMetrics displayMetrics = new DisplayMetrics();
-        windowManager.getDefaultDisplay().getMetrics(displayMetrics);
-        return displayMetrics.heightPixels;
+        return DisplaySnapshot.get(context).heightPixels;
     }
 
     public static boolean isPortrait(Context context) {
@@ -231,14 +147,7 @@ public class Extensions {
     }
 
     public static int getStatusBarHeight(Context context) {
-        int result = 0;
-        int resId = context.getResources().getIdentifier("status_bar_height", "dimen", "android");
-
-        if (resId > 0) {
-            result = context.getResources().getDimensionPixelSize(resId);
-        }
-
-        return result;
+        return DisplaySnapshot.get(context).statusBarHeight;
     }
 
     public static boolean isScreenLock(Context context) {
@@ -257,17 +166,7 @@ public class Extensions {
     }
 
     public static String loadProperty(Context context, String fileName, String key) {
-        try {
-            Properties properties = new Properties();
-            AssetManager assetManager = context.getAssets();
-            InputStream inputStream = assetManager.open(fileName);
-            properties.load(inputStream);
-            return properties.getProperty(key);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return null;
+        return AssetProperties.get(context, fileName).getString(key);
     }
 
     public static float convertPixelsToDp(Context context, float px) {
@@ -278,6 +177,15 @@ public class Extensions {
     }
 
     public static int getAttrColor(@NonNull Context context, @AttrRes int colorAttr) {
+        ThemeAttrs themeAttrs = getThemeAttrs(context);
+
+        synchronized (themeAttrs) {
+            int index = themeAttrs.colors.indexOfKey(colorAttr);
+            if (index >= 0) {
+                return themeAttrs.colors.valueAt(index);
+            }
+        }
+
         int color = 0;
         int[] attrs = new int[] {
                 colorAttr
@@ -289,11 +197,91 @@ public class Extensions {
             typedArray.recycle();
         } catch (Exception e) {
             e.printStackTrace();
+            return color;
+        }
+
+        synchronized (themeAttrs) {
+            themeAttrs.colors.put(colorAttr, color);
         }
 
         return color;
     }
 
+    // Call after mutating a theme in place, e.g. with Theme.applyStyle().
+    public static void clearThemeAttrCache() {
+        synchronized (sThemeAttrs) {
+            sThemeAttrs.clear();
+        }
+    }
+
+    private static ThemeAttrs getThemeAttrs(Context context) {
+        Resources.Theme theme = context.getTheme();
+        Configuration configuration = context.getResources().getConfiguration();
+
+        synchronized (sThemeAttrs) {
+            ThemeAttrs themeAttrs = sThemeAttrs.get(theme);
+            if (themeAttrs == null || !themeAttrs.configuration.equals(configuration)) {
+                themeAttrs = new ThemeAttrs(configuration);
+                sThemeAttrs.put(theme, themeAttrs);
+            }
+            return themeAttrs;
+        }
+    }
+
+    private static int resolveResourceId(Context context, @AttrRes int attr) {
+        ThemeAttrs themeAttrs = getThemeAttrs(context);
+
+        synchronized (themeAttrs) {
+            int index = themeAttrs.resourceIds.indexOfKey(attr);
+            if (index >= 0) {
+                return themeAttrs.resourceIds.valueAt(index);
+            }
+        }
+
+        int[] attrs = new int[] {
+                attr
+        };
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs);
+        int resourceId = typedArray.getResourceId(0, 0);
+        typedArray.recycle();
+
+        synchronized (themeAttrs) {
+            themeAttrs.resourceIds.put(attr, resourceId);
+        }
+
+        return resourceId;
+    }
+
+    private static Drawable resolveDrawable(Context context, @AttrRes int attr) {
+        ThemeAttrs themeAttrs = getThemeAttrs(context);
+        Drawable.ConstantState state;
+
+        synchronized (themeAttrs) {
+            state = themeAttrs.drawables.get(attr);
+        }
+
+        if (state != null) {
+            return state.newDrawable(context.getResources(), context.getTheme());
+        }
+
+        int[] attrs = new int[] {
+                attr
+        };
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs);
+        Drawable drawable = typedArray.getDrawable(0);
+        typedArray.recycle();
+
+        if (drawable != null && drawable.getConstantState() != null) {
+            synchronized (themeAttrs) {
+                themeAttrs.drawables.put(attr, drawable.getConstantState());
+            }
+        }
+
+        return drawable;
+    }
+
     public static int[] getColorArray(@NonNull Context context, @ArrayRes int arrayRes) {
         if (arrayRes == 0) {
             return null;
@@ -314,36 +302,135 @@ public class Extensions {
         return getIcon(context, resource, colorFilter, PorterDuff.Mode.MULTIPLY);
     }
 
+    // Icons are cached per theme and configuration and share their ConstantState with
+    // every other icon handed out for the same key. Call mutate() before setAlpha() or
+    // any other state change, otherwise it shows up in every row using that icon.
     public static Drawable getIcon(Context context, @DrawableRes int resource, int colorFilter, PorterDuff.Mode mode) {
-        Drawable iconDrawable = ContextCompat.getDrawable(context, resource);
+        Resources resources = context.getResources();
+        IconKey key = new IconKey(resource, colorFilter, mode, context.getTheme(), resources.getConfiguration());
+        TintedIcon icon = sIcons.get(key);
+
+        if (icon == null) {
+            Drawable iconDrawable = ContextCompat.getDrawable(context, resource);
+            if (iconDrawable == null) {
+                return null;
+            }
 
-        if (iconDrawable != null) {
             iconDrawable.clearColorFilter();
-            iconDrawable.mutate().setColorFilter(colorFilter, mode);
+            iconDrawable = iconDrawable.mutate();
+
+            ColorFilter filter = new PorterDuffColorFilter(colorFilter, mode);
+            iconDrawable.setColorFilter(filter);
+
+            if (iconDrawable.getConstantState() == null) {
+                return iconDrawable;
+            }
+
+            sIcons.put(key.retain(), new TintedIcon(iconDrawable, filter));
+            return iconDrawable;
         }
 
+        // Vector drawables keep the color filter outside of their constant state.
+        Drawable iconDrawable = icon.state.newDrawable(resources);
+        iconDrawable.setColorFilter(icon.filter);
         return iconDrawable;
     }
 
+    public static int getIconCacheFootprint() {
+        return sIcons.size();
+    }
+
+    public static void clearIconCache() {
+        sIcons.evictAll();
+    }
+
     public static String formatSize(long size) {
-        if (size < 1024) {
-            return String.format(Locale.getDefault(), "%d B", size);
-        } else if (size < Math.pow(1024, 2)) {
-            return String.format(Locale.getDefault(), "%.1f KB", size / 1024.0F);
-        } else if (size < Math.pow(1024, 3)) {
-            return String.format(Locale.getDefault(), "%.1f MB", size / Math.pow(1024.0F, 2));
-        } else if (size < Math.pow(1024, 4)) {
-            return String.format(Locale.getDefault(), "%.1f GB", size / Math.pow(1024.0F, 3));
-        } else if (size < Math.pow(1024, 5)) {
-            return String.format(Locale.getDefault(), "%.1f TB", size / Math.pow(1024.0F, 4));
-        } else if (size < Math.pow(1024, 6)) {
-            return String.format(Locale.getDefault(), "%.1f PB", size / Math.pow(1024.0F, 5));
-        } else if (size < Math.pow(1024, 7)) {
-            return String.format(Locale.getDefault(), "%.1f EB", size / Math.pow(1024.0F, 6));
-        } else if (size < Math.pow(1024, 8)) {
-            return String.format(Locale.getDefault(), "%.1f ZB", size / Math.pow(1024.0F, 7));
-        } else {
-            return String.format(Locale.getDefault(), "%.1f YB", size / Math.pow(1024.0F, 8));
+        return UnitFormatter.formatSize(size, new StringBuilder(16)).toString();
+    }
+
+    private static final class ThemeAttrs {
+
+        final Configuration configuration;
+        final SparseIntArray resourceIds = new SparseIntArray();
+        final SparseIntArray colors = new SparseIntArray();
+        final SparseArray<Drawable.ConstantState> drawables = new SparseArray<>();
+
+        ThemeAttrs(Configuration configuration) {
+            this.configuration = new Configuration(configuration);
+        }
+    }
+
+    private static final class TintedIcon {
+
+        final Drawable.ConstantState state;
+        final ColorFilter filter;
+        final int byteCount;
+
+        TintedIcon(Drawable drawable, ColorFilter filter) {
+            this.state = drawable.getConstantState();
+            this.filter = filter;
+            this.byteCount = Math.max(1, drawable.getIntrinsicWidth() * drawable.getIntrinsicHeight() * 4);
+        }
+    }
+
+    private static final class IconKey {
+
+        private final int mResource;
+        private final int mColor;
+        private final PorterDuff.Mode mMode;
+        private final Configuration mConfiguration;
+        private final int mHashCode;
+
+        // Lookup keys hold the theme directly, keys stored in the cache only weakly.
+        private final Resources.Theme mTheme;
+        private final WeakReference<Resources.Theme> mThemeRef;
+
+        IconKey(int resource, int color, PorterDuff.Mode mode, Resources.Theme theme, Configuration configuration) {
+            this(resource, color, mode, theme, null, configuration);
+        }
+
+        private IconKey(int resource, int color, PorterDuff.Mode mode, Resources.Theme theme, WeakReference<Resources.Theme> themeRef, Configuration configuration) {
+            mResource = resource;
+            mColor = color;
+            mMode = mode;
+            mTheme = theme;
+            mThemeRef = themeRef;
+            mConfiguration = configuration;
+
+            int result = mResource;
+            result = 31 * result + mColor;
+            result = 31 * result + mMode.hashCode();
+            result = 31 * result + System.identityHashCode(theme != null ? theme : themeRef.get());
+            result = 31 * result + mConfiguration.hashCode();
+            mHashCode = result;
+        }
+
+        IconKey retain() {
+            return new IconKey(mResource, mColor, mMode, null, new WeakReference<>(mTheme), new Configuration(mConfiguration));
+        }
+
+        private Resources.Theme getTheme() {
+            return mTheme != null ? mTheme : mThemeRef.get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof IconKey)) {
+                return false;
+            }
+
+            IconKey key = (IconKey) o;
+            Resources.Theme theme = getTheme();
+            return mResource == key.mResource && mColor == key.mColor && mMode == key.mMode && theme != null && theme == key.getTheme() && mConfiguration.equals(key.mConfiguration);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.extensions;
+
+import android.support.annotation.NonNull;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+@SuppressWarnings("all")
+public final class UnitFormatter {
+
+    private static final String[] SIZE_UNITS = new String[] {
+        " B", " KB", " MB", " GB", " TB", " PB", " EB"
+    };
+
+    private static final String[] COUNT_UNITS = new String[] {
+        "", "K", "M", "G", "T", "P", "E"
+    };
+
+    private static final long[] COUNT_THRESHOLDS = new long[] {
+        1L, 1000L, 1000000L, 1000000000L, 1000000000000L, 1000000000000000L, 1000000000000000000L
+    };
+
+    private static volatile Symbols sSymbols;
+
+    private static final ThreadLocal<StringBuilder> sScratch = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(24);
+        }
+    };
+
+    private UnitFormatter() {}
+
+    // Same output as String.format("%.1f KB") and friends, rounded half up.
+    public static StringBuilder formatSize(long size, @NonNull StringBuilder out) {
+        Symbols symbols = getSymbols();
+
+        if (size < 1024) {
+            appendDigits(out, size, symbols.zero);
+            return out.append(SIZE_UNITS[0]);
+        }
+
+        int unit = (63 - Long.numberOfLeadingZeros(size)) / 10;
+        int shift = unit * 10;
+        long remainder = size & ((1L << shift) - 1);
+
+        // Unsigned arithmetic, remainder * 10 can pass Long.MAX_VALUE for exabytes.
+        long tenths = (size >>> shift) * 10 + ((remainder * 10 + (1L << (shift - 1))) >>> shift);
+        appendTenths(out, tenths, symbols);
+        return out.append(SIZE_UNITS[unit]);
+    }
+
+    public static StringBuilder formatCount(long count, @NonNull StringBuilder out) {
+        Symbols symbols = getSymbols();
+
+        if (count < COUNT_THRESHOLDS[1]) {
+            appendDigits(out, count, symbols.zero);
+            return out;
+        }
+
+        int unit = COUNT_THRESHOLDS.length - 1;
+        while (count < COUNT_THRESHOLDS[unit]) {
+            unit--;
+        }
+
+        long threshold = COUNT_THRESHOLDS[unit];
+        long tenths = count / threshold * 10 + (count % threshold + threshold / 20) / (threshold / 10);
+
+        // 999.95K rounds up to the next unit.
+        if (tenths >= 10000 && unit < COUNT_THRESHOLDS.length - 1) {
+            tenths = 10;
+            unit++;
+        }
+
+        appendTenths(out, tenths, symbols);
+        return out.append(COUNT_UNITS[unit]);
+    }
+
+    // Formats as m:ss, or h:mm:ss from one hour up.
+    public static StringBuilder formatDuration(long millis, @NonNull StringBuilder out) {
+        Symbols symbols = getSymbols();
+        long seconds = Math.max(0, millis) / 1000;
+        long hours = seconds / 3600;
+        long minutes = seconds / 60 % 60;
+        seconds %= 60;
+
+        if (hours > 0) {
+            appendDigits(out, hours, symbols.zero);
+            out.append(':');
+            appendTwoDigits(out, minutes, symbols.zero);
+        } else {
+            appendDigits(out, minutes, symbols.zero);
+        }
+
+        out.append(':');
+        appendTwoDigits(out, seconds, symbols.zero);
+        return out;
+    }
+
+    public static int formatSize(long size, @NonNull char[] out, int offset) {
+        StringBuilder builder = sScratch.get();
+        builder.setLength(0);
+        return copy(formatSize(size, builder), out, offset);
+    }
+
+    public static int formatCount(long count, @NonNull char[] out, int offset) {
+        StringBuilder builder = sScratch.get();
+        builder.setLength(0);
+        return copy(formatCount(count, builder), out, offset);
+    }
+
+    public static int formatDuration(long millis, @NonNull char[] out, int offset) {
+        StringBuilder builder = sScratch.get();
+        builder.setLength(0);
+        return copy(formatDuration(millis, builder), out, offset);
+    }
+
+    private static int copy(StringBuilder builder, char[] out, int offset) {
+        int length = builder.length();
+        builder.getChars(0, length, out, offset);
+        return length;
+    }
+
+    private static Symbols getSymbols() {
+        Locale locale = Locale.getDefault();
+        Symbols symbols = sSymbols;
+
+        if (symbols == null || !symbols.locale.equals(locale)) {
+            symbols = new Symbols(locale);
+            sSymbols = symbols;
+        }
+
+        return symbols;
+    }
+
+    private static void appendTenths(StringBuilder out, long tenths, Symbols symbols) {
+        appendDigits(out, tenths / 10, symbols.zero);
+        out.append(symbols.decimalSeparator);
+        out.append((char) (symbols.zero + tenths % 10));
+    }
+
+    private static void appendTwoDigits(StringBuilder out, long value, char zero) {
+        out.append((char) (zero + value / 10));
+        out.append((char) (zero + value % 10));
+    }
+
+    private static void appendDigits(StringBuilder out, long value, char zero) {
+        if (zero == '0' || value == Long.MIN_VALUE) {
+            out.append(value);
+            return;
+        }
+
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+
+        while (divisor > 0) {
+            out.append((char) (zero + value / divisor % 10));
+            divisor /= 10;
+        }
+    }
+
+    private static final class Symbols {
+
+        final Locale locale;
+        final char zero;
+        final char decimalSeparator;
+
+        Symbols(Locale locale) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            this.locale = locale;
+            this.zero = symbols.getZeroDigit();
+            this.decimalSeparator = symbols.getDecimalSeparator();
+        }
+    }
+}
\ No newline at end of file
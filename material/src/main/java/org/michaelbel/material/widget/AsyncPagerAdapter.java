@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StringRes;
+import android.support.v4.view.AsyncLayoutInflater;
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("all")
+public class AsyncPagerAdapter extends PagerAdapter {
+
+    public interface OnPageInflatedListener {
+        void onPageInflated(View view, int position);
+    }
+
+    private Context context;
+    private AsyncLayoutInflater asyncInflater;
+    private OnPageInflatedListener pageInflatedListener;
+    private int prefetchDistance = 1;
+    private int primaryPosition = -1;
+
+    private List<Integer> layoutIds = new ArrayList<>();
+    private List<CharSequence> titles = new ArrayList<>();
+
+    private SparseArray<View> pages = new SparseArray<>();
+    private SparseArray<FrameLayout> wrappers = new SparseArray<>();
+    private SparseBooleanArray pending = new SparseBooleanArray();
+
+    public AsyncPagerAdapter(Context context) {
+        this.context = context;
+        asyncInflater = new AsyncLayoutInflater(context);
+    }
+
+    public void addLayout(@LayoutRes int layoutId, CharSequence title) {
+        layoutIds.add(layoutId);
+        titles.add(title);
+    }
+
+    public void addLayout(@LayoutRes int layoutId, @StringRes int stringId) {
+        addLayout(layoutId, context.getText(stringId));
+    }
+
+    public void setOnPageInflatedListener(OnPageInflatedListener listener) {
+        pageInflatedListener = listener;
+    }
+
+    public void setPrefetchDistance(int distance) {
+        prefetchDistance = distance;
+    }
+
+    @Nullable
+    public View getPage(int position) {
+        return pages.get(position);
+    }
+
+    @Override
+    public CharSequence getPageTitle(int position) {
+        return titles.get(position);
+    }
+
+    @Override
+    public int getCount() {
+        return layoutIds.size();
+    }
+
+    @Override
+    public boolean isViewFromObject(View view, Object object) {
+        return view == object;
+    }
+
+    @Override
+    public Object instantiateItem(ViewGroup container, int position) {
+        FrameLayout layout = obtainWrapper(position);
+
+        boolean current = container instanceof ViewPager && ((ViewPager) container).getCurrentItem() == position;
+        if (current) {
+            inflatePage(position);
+        } else {
+            prefetchPage(position);
+        }
+
+        container.addView(layout);
+        return layout;
+    }
+
+    @Override
+    public void destroyItem(ViewGroup container, int position, Object object) {
+        container.removeView((FrameLayout) object);
+
+        if (Math.abs(position - primaryPosition) > prefetchDistance) {
+            dropPage(position);
+        }
+    }
+
+    @Override
+    public void setPrimaryItem(ViewGroup container, int position, Object object) {
+        if (position != primaryPosition) {
+            primaryPosition = position;
+            trimPages(position);
+        }
+
+        // The user got here before the background inflation finished.
+        inflatePage(position);
+
+        for (int i = 1; i <= prefetchDistance; i++) {
+            if (position - i >= 0) {
+                prefetchPage(position - i);
+            }
+            if (position + i < getCount()) {
+                prefetchPage(position + i);
+            }
+        }
+    }
+
+    private void inflatePage(int position) {
+        if (pages.get(position) != null) {
+            return;
+        }
+
+        View view = LayoutInflater.from(context).inflate(layoutIds.get(position), obtainWrapper(position), false);
+        attachPage(view, position);
+    }
+
+    private void prefetchPage(final int position) {
+        if (pages.get(position) != null || pending.get(position)) {
+            return;
+        }
+
+        final FrameLayout wrapper = obtainWrapper(position);
+        pending.put(position, true);
+        asyncInflater.inflate(layoutIds.get(position), wrapper, new AsyncLayoutInflater.OnInflateFinishedListener() {
+            @Override
+            public void onInflateFinished(@NonNull View view, int resid, @Nullable ViewGroup parent) {
+                // The page was dropped while inflating, so the result is stale.
+                if (wrappers.get(position) != wrapper) {
+                    return;
+                }
+
+                pending.delete(position);
+
+                // A synchronous fallback already won the race.
+                if (pages.get(position) == null) {
+                    attachPage(view, position);
+                }
+            }
+        });
+    }
+
+    // Only pages around the current one are kept; detached ones further away are inflated again when needed.
+    private void trimPages(int position) {
+        for (int i = wrappers.size() - 1; i >= 0; i--) {
+            int key = wrappers.keyAt(i);
+            if (Math.abs(key - position) > prefetchDistance && wrappers.valueAt(i).getParent() == null) {
+                dropPage(key);
+            }
+        }
+    }
+
+    private void dropPage(int position) {
+        wrappers.delete(position);
+        pages.delete(position);
+        pending.delete(position);
+    }
+
+    private FrameLayout obtainWrapper(int position) {
+        FrameLayout layout = wrappers.get(position);
+        if (layout == null) {
+            layout = new FrameLayout(context);
+            wrappers.put(position, layout);
+        }
+        return layout;
+    }
+
+    private void attachPage(View view, int position) {
+        pages.put(position, view);
+        wrappers.get(position).addView(view);
+
+        if (pageInflatedListener != null) {
+            pageInflatedListener.onPageInflated(view, position);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.support.annotation.NonNull;
+import android.support.v7.recyclerview.extensions.AsyncDifferConfig;
+import android.support.v7.recyclerview.extensions.ListAdapter;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.concurrent.Executor;
+
+// ListAdapter with a configurable diff executor and a public getItem().
+@SuppressWarnings("all")
+public abstract class DiffListAdapter<T, VH extends RecyclerView.ViewHolder> extends ListAdapter<T, VH> {
+
+    protected DiffListAdapter(@NonNull DiffUtil.ItemCallback<T> diffCallback) {
+        super(diffCallback);
+    }
+
+    protected DiffListAdapter(@NonNull DiffUtil.ItemCallback<T> diffCallback, @NonNull Executor backgroundExecutor) {
+        super(new AsyncDifferConfig.Builder<>(diffCallback).setBackgroundThreadExecutor(backgroundExecutor).build());
+    }
+
+    @Override
+    public T getItem(int position) {
+        return super.getItem(position);
+    }
+}
\ No newline at end of file
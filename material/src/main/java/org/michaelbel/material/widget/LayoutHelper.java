@@ -19,13 +19,17 @@ package org.michaelbel.material.widget;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.v4.widget.SwipeRefreshLayout;
+import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 import android.widget.RelativeLayout;
 import android.widget.ScrollView;
 
+import org.michaelbel.material.extensions.DpTable;
 import org.michaelbel.material.extensions.Extensions;
 
+import java.util.Arrays;
+
 @SuppressWarnings("all")
 public class LayoutHelper {
 
@@ -41,7 +45,9 @@ public class LayoutHelper {
     }
 
     public static ScrollView.LayoutParams makeScroll(Context context, int width, int height, int gravity) {
-        return new ScrollView.LayoutParams(getSize(context, width), getSize(context, height), gravity);
+        ScrollView.LayoutParams params = new ScrollView.LayoutParams(getSize(context, width), getSize(context, height));
+        params.gravity = gravity;
+        return params;
     }
 
     public static ScrollView.LayoutParams makeScroll(Context context, int width, int height, float startMargin, float topMargin, float endMargin, float bottomMargin) {
@@ -203,4 +209,145 @@ public class LayoutHelper {
     public static SwipeRefreshLayout.LayoutParams makeSwipeRefresh(Context context, int width, int height) {
         return new SwipeRefreshLayout.LayoutParams(getSize(context, width), getSize(context, height));
     }
+
+    public static class Builder {
+
+        private final DpTable mDpTable;
+
+        private int mWidth = WRAP_CONTENT;
+        private int mHeight = WRAP_CONTENT;
+        private int mGravity = -1;
+        private float mWeight;
+        private int mLeftMargin;
+        private int mTopMargin;
+        private int mRightMargin;
+        private int mBottomMargin;
+
+        private int[] mRuleVerbs = new int[4];
+        private int[] mRuleAnchors = new int[4];
+        private int mRuleCount;
+
+        public Builder(@NonNull Context context) {
+            mDpTable = DpTable.obtain(context.getResources().getDisplayMetrics().density);
+        }
+
+        public int dp(float value) {
+            return mDpTable.dp(value);
+        }
+
+        public Builder setSize(int width, int height) {
+            mWidth = dp(width);
+            mHeight = dp(height);
+            return this;
+        }
+
+        public Builder setGravity(int gravity) {
+            mGravity = gravity;
+            return this;
+        }
+
+        public Builder setWeight(float weight) {
+            mWeight = weight;
+            return this;
+        }
+
+        public Builder setMargins(float startMargin, float topMargin, float endMargin, float bottomMargin) {
+            mLeftMargin = dp(startMargin);
+            mTopMargin = dp(topMargin);
+            mRightMargin = dp(endMargin);
+            mBottomMargin = dp(bottomMargin);
+            return this;
+        }
+
+        public Builder addRule(int verb) {
+            return addRule(verb, RelativeLayout.TRUE);
+        }
+
+        public Builder addRule(int verb, int anchor) {
+            if (mRuleCount == mRuleVerbs.length) {
+                mRuleVerbs = Arrays.copyOf(mRuleVerbs, mRuleCount * 2);
+                mRuleAnchors = Arrays.copyOf(mRuleAnchors, mRuleCount * 2);
+            }
+
+            mRuleVerbs[mRuleCount] = verb;
+            mRuleAnchors[mRuleCount] = anchor;
+            mRuleCount++;
+            return this;
+        }
+
+        public ScrollView.LayoutParams buildScroll() {
+            ScrollView.LayoutParams params = new ScrollView.LayoutParams(mWidth, mHeight);
+            applyGravity(params);
+            applyMargins(params);
+            reset();
+            return params;
+        }
+
+        public FrameLayout.LayoutParams buildFrame() {
+            FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(mWidth, mHeight);
+            applyGravity(params);
+            applyMargins(params);
+            reset();
+            return params;
+        }
+
+        public LinearLayout.LayoutParams buildLinear() {
+            LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(mWidth, mHeight);
+            applyGravity(params);
+            params.weight = mWeight;
+            applyMargins(params);
+            reset();
+            return params;
+        }
+
+        public RelativeLayout.LayoutParams buildRelative() {
+            RelativeLayout.LayoutParams params = new RelativeLayout.LayoutParams(mWidth, mHeight);
+            for (int i = 0; i < mRuleCount; i++) {
+                params.addRule(mRuleVerbs[i], mRuleAnchors[i]);
+            }
+            applyMargins(params);
+            reset();
+            return params;
+        }
+
+        public SwipeRefreshLayout.LayoutParams buildSwipeRefresh() {
+            SwipeRefreshLayout.LayoutParams params = new SwipeRefreshLayout.LayoutParams(mWidth, mHeight);
+            applyMargins(params);
+            reset();
+            return params;
+        }
+
+        // Unset gravity keeps the constructor default, as the static make* methods do.
+        private void applyGravity(FrameLayout.LayoutParams params) {
+            if (mGravity != -1) {
+                params.gravity = mGravity;
+            }
+        }
+
+        private void applyGravity(LinearLayout.LayoutParams params) {
+            if (mGravity != -1) {
+                params.gravity = mGravity;
+            }
+        }
+
+        private void applyMargins(ViewGroup.MarginLayoutParams params) {
+            params.leftMargin = mLeftMargin;
+            params.topMargin = mTopMargin;
+            params.rightMargin = mRightMargin;
+            params.bottomMargin = mBottomMargin;
+        }
+
+        // Builders are meant to be reused for a whole screen.
+        private void reset() {
+            mWidth = WRAP_CONTENT;
+            mHeight = WRAP_CONTENT;
+            mGravity = -1;
+            mWeight = 0;
+            mLeftMargin = 0;
+            mTopMargin = 0;
+            mRightMargin = 0;
+            mBottomMargin = 0;
+            mRuleCount = 0;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Parcelable;
+import android.support.annotation.StringRes;
+import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentManager;
+import android.support.v4.app.FragmentTransaction;
+import android.support.v4.view.PagerAdapter;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("all")
+public class LazyFragmentsPagerAdapter extends PagerAdapter {
+
+    public interface FragmentSupplier {
+        Fragment get();
+    }
+
+    private Context mContext;
+    private final FragmentManager mFragmentManager;
+    private final List<FragmentSupplier> mSuppliers = new ArrayList<>();
+    private final List<CharSequence> mTitles = new ArrayList<>();
+
+    // Fragments within the retained window are only detached, the rest are
+    // removed and keep nothing but their saved state.
+    private final ArrayList<Fragment> mFragments = new ArrayList<>();
+    private final ArrayList<Fragment.SavedState> mSavedState = new ArrayList<>();
+
+    private FragmentTransaction mCurTransaction;
+    private Fragment mCurrentPrimaryItem;
+    private int mPrimaryPosition;
+    private int mRetainedWindow = 1;
+
+    public LazyFragmentsPagerAdapter(Context context, FragmentManager fragmentManager) {
+        mContext = context;
+        mFragmentManager = fragmentManager;
+    }
+
+    public void addFragment(FragmentSupplier supplier, CharSequence title) {
+        mSuppliers.add(supplier);
+        mTitles.add(title);
+    }
+
+    public void addFragment(FragmentSupplier supplier, @StringRes int stringId) {
+        addFragment(supplier, mContext.getText(stringId));
+    }
+
+    public void setRetainedWindow(int window) {
+        if (window < 0) {
+            throw new IllegalArgumentException("Retained window must be >= 0");
+        }
+
+        mRetainedWindow = window;
+    }
+
+    public int getRetainedWindow() {
+        return mRetainedWindow;
+    }
+
+    public Fragment getItem(int position) {
+        return mSuppliers.get(position).get();
+    }
+
+    @Override
+    public int getCount() {
+        return mSuppliers.size();
+    }
+
+    @Override
+    public CharSequence getPageTitle(int position) {
+        return mTitles.get(position);
+    }
+
+    @Override
+    public void startUpdate(ViewGroup container) {
+        if (container.getId() == View.NO_ID) {
+            throw new IllegalStateException("ViewPager with adapter " + this + " requires a view id");
+        }
+    }
+
+    @Override
+    public Object instantiateItem(ViewGroup container, int position) {
+        if (mCurTransaction == null) {
+            mCurTransaction = mFragmentManager.beginTransaction();
+        }
+
+        Fragment fragment = mFragments.size() > position ? mFragments.get(position) : null;
+        if (fragment != null) {
+            if (fragment.isDetached()) {
+                mCurTransaction.attach(fragment);
+            }
+            return fragment;
+        }
+
+        fragment = getItem(position);
+
+        Fragment.SavedState state = mSavedState.size() > position ? mSavedState.get(position) : null;
+        if (state != null) {
+            fragment.setInitialSavedState(state);
+            mSavedState.set(position, null);
+        }
+
+        while (mFragments.size() <= position) {
+            mFragments.add(null);
+        }
+
+        fragment.setMenuVisibility(false);
+        fragment.setUserVisibleHint(false);
+        mFragments.set(position, fragment);
+        mCurTransaction.add(container.getId(), fragment);
+        return fragment;
+    }
+
+    @Override
+    public void destroyItem(ViewGroup container, int position, Object object) {
+        Fragment fragment = (Fragment) object;
+
+        if (mCurTransaction == null) {
+            mCurTransaction = mFragmentManager.beginTransaction();
+        }
+
+        if (Math.abs(position - mPrimaryPosition) <= mRetainedWindow) {
+            mCurTransaction.detach(fragment);
+        } else {
+            removeFragment(position, fragment);
+        }
+    }
+
+    @Override
+    public void setPrimaryItem(ViewGroup container, int position, Object object) {
+        mPrimaryPosition = position;
+
+        Fragment fragment = (Fragment) object;
+        if (fragment != mCurrentPrimaryItem) {
+            if (mCurrentPrimaryItem != null) {
+                mCurrentPrimaryItem.setMenuVisibility(false);
+                mCurrentPrimaryItem.setUserVisibleHint(false);
+            }
+            fragment.setMenuVisibility(true);
+            fragment.setUserVisibleHint(true);
+            mCurrentPrimaryItem = fragment;
+        }
+    }
+
+    @Override
+    public void finishUpdate(ViewGroup container) {
+        if (mCurTransaction != null) {
+            mCurTransaction.commitNowAllowingStateLoss();
+            mCurTransaction = null;
+        }
+
+        // Detached fragments that fell out of the window after the primary
+        // item moved are converted to saved state.
+        for (int i = 0; i < mFragments.size(); i++) {
+            Fragment fragment = mFragments.get(i);
+            if (fragment != null && fragment.isDetached() && Math.abs(i - mPrimaryPosition) > mRetainedWindow) {
+                if (mCurTransaction == null) {
+                    mCurTransaction = mFragmentManager.beginTransaction();
+                }
+                removeFragment(i, fragment);
+            }
+        }
+
+        if (mCurTransaction != null) {
+            mCurTransaction.commitNowAllowingStateLoss();
+            mCurTransaction = null;
+        }
+    }
+
+    @Override
+    public boolean isViewFromObject(View view, Object object) {
+        return ((Fragment) object).getView() == view;
+    }
+
+    @Override
+    public Parcelable saveState() {
+        Bundle state = null;
+
+        if (mSavedState.size() > 0) {
+            state = new Bundle();
+            Fragment.SavedState[] states = new Fragment.SavedState[mSavedState.size()];
+            mSavedState.toArray(states);
+            state.putParcelableArray("states", states);
+        }
+
+        for (int i = 0; i < mFragments.size(); i++) {
+            Fragment fragment = mFragments.get(i);
+            if (fragment != null && isActive(fragment)) {
+                if (state == null) {
+                    state = new Bundle();
+                }
+                mFragmentManager.putFragment(state, "f" + i, fragment);
+            }
+        }
+
+        return state;
+    }
+
+    @Override
+    public void restoreState(Parcelable state, ClassLoader loader) {
+        if (state == null) {
+            return;
+        }
+
+        Bundle bundle = (Bundle) state;
+        bundle.setClassLoader(loader);
+
+        mSavedState.clear();
+        mFragments.clear();
+
+        Parcelable[] states = bundle.getParcelableArray("states");
+        if (states != null) {
+            for (Parcelable savedState : states) {
+                mSavedState.add((Fragment.SavedState) savedState);
+            }
+        }
+
+        for (String key : bundle.keySet()) {
+            if (key.startsWith("f")) {
+                int index = Integer.parseInt(key.substring(1));
+                Fragment fragment = mFragmentManager.getFragment(bundle, key);
+                if (fragment != null) {
+                    while (mFragments.size() <= index) {
+                        mFragments.add(null);
+                    }
+                    fragment.setMenuVisibility(false);
+                    mFragments.set(index, fragment);
+                }
+            }
+        }
+    }
+
+    private void removeFragment(int position, Fragment fragment) {
+        while (mSavedState.size() <= position) {
+            mSavedState.add(null);
+        }
+
+        mSavedState.set(position, isActive(fragment) ? mFragmentManager.saveFragmentInstanceState(fragment) : null);
+        mFragments.set(position, null);
+        mCurTransaction.remove(fragment);
+    }
+
+    // Detaching clears isAdded(), but the fragment stays active and keeps its state.
+    private static boolean isActive(Fragment fragment) {
+        return fragment.isAdded() || fragment.isDetached();
+    }
+}
\ No newline at end of file
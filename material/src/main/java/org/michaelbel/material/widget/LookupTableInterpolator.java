@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.support.annotation.AnimRes;
+import android.support.annotation.InterpolatorRes;
+import android.support.annotation.NonNull;
+import android.util.SparseArray;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
+
+import java.util.WeakHashMap;
+
+@SuppressWarnings("all")
+public final class LookupTableInterpolator implements Interpolator {
+
+    private static final int SAMPLE_COUNT = 257;
+
+    // Tables keep no reference to their source, so the weak keys can still be collected.
+    private static final WeakHashMap<Interpolator, LookupTableInterpolator> sInstances = new WeakHashMap<>();
+    // Interpolator resources may resolve theme attributes or qualified values, so tables are kept per theme and configuration.
+    private static final WeakHashMap<Resources.Theme, ResourceTables> sResources = new WeakHashMap<>();
+
+    private final float[] mValues = new float[SAMPLE_COUNT];
+
+    private LookupTableInterpolator(Interpolator source) {
+        int last = SAMPLE_COUNT - 1;
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            mValues[i] = source.getInterpolation((float) i / last);
+        }
+    }
+
+    public static LookupTableInterpolator obtain(@NonNull Interpolator source) {
+        if (source instanceof LookupTableInterpolator) {
+            return (LookupTableInterpolator) source;
+        }
+
+        synchronized (sInstances) {
+            LookupTableInterpolator interpolator = sInstances.get(source);
+            if (interpolator == null) {
+                interpolator = new LookupTableInterpolator(source);
+                sInstances.put(source, interpolator);
+            }
+            return interpolator;
+        }
+    }
+
+    public static LookupTableInterpolator obtain(Context context, @AnimRes @InterpolatorRes int resID) {
+        Resources.Theme theme = context.getTheme();
+        Configuration configuration = context.getResources().getConfiguration();
+
+        synchronized (sResources) {
+            ResourceTables tables = sResources.get(theme);
+            if (tables == null || !tables.configuration.equals(configuration)) {
+                tables = new ResourceTables(configuration);
+                sResources.put(theme, tables);
+            }
+
+            LookupTableInterpolator interpolator = tables.interpolators.get(resID);
+            if (interpolator == null) {
+                interpolator = new LookupTableInterpolator(AnimationUtils.loadInterpolator(context, resID));
+                tables.interpolators.put(resID, interpolator);
+            }
+            return interpolator;
+        }
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        if (input <= 0) {
+            return mValues[0];
+        }
+
+        if (input >= 1) {
+            return mValues[SAMPLE_COUNT - 1];
+        }
+
+        float position = input * (SAMPLE_COUNT - 1);
+        int index = (int) position;
+        float fraction = position - index;
+        return mValues[index] + fraction * (mValues[index + 1] - mValues[index]);
+    }
+
+    private static final class ResourceTables {
+
+        final Configuration configuration;
+        final SparseArray<LookupTableInterpolator> interpolators = new SparseArray<>();
+
+        ResourceTables(Configuration configuration) {
+            this.configuration = new Configuration(configuration);
+        }
+    }
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
 import android.animation.ValueAnimator;
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
 import android.graphics.Paint;
@@ -33,9 +34,12 @@ import android.os.Handler;
 import android.os.Looper;
 import android.os.SystemClock;
 import android.support.annotation.ColorInt;
+import android.util.LruCache;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.Interpolator;
 
+import java.util.Arrays;
+
 @SuppressWarnings("all")
 public class MediaControlDrawable extends Drawable {
 
@@ -45,6 +49,32 @@ public class MediaControlDrawable extends Drawable {
         STOP
     }
 
+    private static final int SEGMENT_PLAY_TO_STOP = 0;
+    private static final int SEGMENT_STOP_TO_PAUSE = 1;
+    private static final int SEGMENT_PAUSE_TO_PLAY_SPLIT = 2;
+    private static final int SEGMENT_PAUSE_TO_PLAY_JOINED = 3;
+    private static final int SEGMENT_PLAY_TO_PAUSE_SPLIT = 4;
+    private static final int SEGMENT_PLAY_TO_PAUSE_JOINED = 5;
+    private static final int SEGMENT_PAUSE_TO_STOP = 6;
+    private static final int SEGMENT_STOP_TO_PLAY = 7;
+    private static final int SEGMENT_COUNT = 8;
+
+    private static final float[] SEGMENT_START = { 0F, 0F, 0F, 0.5F, 0.5F, 0F, 0F, 0F };
+    private static final float[] SEGMENT_END = { 1F, 1F, 0.5F, 1F, 1F, 0.5F, 1F, 1F };
+    private static final boolean[] SEGMENT_HAS_SECONDARY = { false, true, true, false, true, false, true, false };
+
+    private static final int VERTEX_COUNT = 16;
+    private static final int KEYFRAME_SIZE = VERTEX_COUNT * 2;
+
+    private static final int STATE_CACHE_SIZE = 4 * 1024 * 1024;
+
+    private static final LruCache<StateKey, Bitmap> sStateCache = new LruCache<StateKey, Bitmap>(STATE_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(StateKey key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+
     private float mPadding;
     private float mRotation;
     private float mCenter;
@@ -54,10 +84,14 @@ public class MediaControlDrawable extends Drawable {
     private Path mPrimaryPath = new Path();
     private Path mSecondaryPath = new Path();
     private RectF mInternalBounds = new RectF();
+    private final float[] mVertices = new float[VERTEX_COUNT];
+    private final float[] mKeyframes = new float[SEGMENT_COUNT * KEYFRAME_SIZE];
     private Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
     private State mCurrentState = State.PLAY;
     private State mTargetState = State.PLAY;
     private ValueAnimatorCompat mAnimator;
+    private boolean mStateCacheEnabled;
+    private Bitmap mStateBitmap;
 
     public MediaControlDrawable(@ColorInt int color, float padding, State state, Interpolator interpolator, int duration) {
         mPadding = padding;
@@ -99,6 +133,22 @@ public class MediaControlDrawable extends Drawable {
     @Override
     public void draw(Canvas canvas) {
         Rect bounds = getBounds();
+
+        if (mStateCacheEnabled && mCurrentState == mTargetState && mPaint.getColorFilter() == null) {
+            if (mStateBitmap == null) {
+                mStateBitmap = obtainStateBitmap(bounds);
+            }
+
+            if (mStateBitmap != null) {
+                canvas.drawBitmap(mStateBitmap, bounds.left, bounds.top, null);
+                return;
+            }
+        }
+
+        drawPaths(canvas, bounds);
+    }
+
+    private void drawPaths(Canvas canvas, Rect bounds) {
         int saveCount = canvas.save();
         canvas.rotate(mRotation, bounds.centerX(), bounds.centerY());
         canvas.drawPath(mPrimaryPath, mPaint);
@@ -107,25 +157,20 @@ public class MediaControlDrawable extends Drawable {
     }
 
     @Override
-    public void setBounds(Rect bounds) {
+    protected void onBoundsChange(Rect bounds) {
         calculateTrimArea(bounds);
-        super.setBounds(bounds);
-    }
-
-    @Override
-    public void setBounds(int left, int top, int right, int bottom) {
-        calculateTrimArea(new Rect(left, top, right, bottom));
-        super.setBounds(left, top, right, bottom);
     }
 
     @Override
     public void setAlpha(int i) {
         mPaint.setAlpha(i);
+        mStateBitmap = null;
     }
 
     @Override
     public void setColorFilter(ColorFilter colorFilter) {
         mPaint.setColorFilter(colorFilter);
+        mStateBitmap = null;
     }
 
     @Override
@@ -133,113 +178,193 @@ public class MediaControlDrawable extends Drawable {
         return PixelFormat.TRANSLUCENT;
     }
 
-
-    private void setTransitionState(float rotation, float fraction) {
+    // Runs on every animation frame; package-private so tests can drive frames directly.
+    void setTransitionState(float rotation, float fraction) {
         if (mCurrentState == mTargetState) {
             rotation = fraction = 0f;
         }
 
         mRotation = rotation;
+        mStateBitmap = null;
+
+        int segment = getSegment(fraction);
+        float start = SEGMENT_START[segment];
+        float t = (fraction - start) / (SEGMENT_END[segment] - start);
+        int from = segment * KEYFRAME_SIZE;
+        int to = from + VERTEX_COUNT;
+
+        for (int i = 0; i < VERTEX_COUNT; i++) {
+            mVertices[i] = AnimationUtils.lerp(mKeyframes[from + i], mKeyframes[to + i], t);
+        }
+
         mPrimaryPath.reset();
         mSecondaryPath.reset();
+        fillPath(mPrimaryPath, 0);
 
-        if (mCurrentState == State.PLAY && (mTargetState == State.STOP || mTargetState == State.PLAY)) {
-            float offset = (1f - fraction) * mPlayTipOffset;
-            float offsetBase = (1f - fraction) * mPlayBaseOffset;
+        if (SEGMENT_HAS_SECONDARY[segment]) {
+            fillPath(mSecondaryPath, VERTEX_COUNT / 2);
+        }
 
-            mPrimaryPath.moveTo(mInternalBounds.right + offset, interpolate(mCenter, mInternalBounds.bottom, fraction));
-            mPrimaryPath.lineTo(mInternalBounds.left + offset, mInternalBounds.bottom + offsetBase);
-            mPrimaryPath.lineTo(mInternalBounds.left + offset, interpolate(mCenter, mInternalBounds.top, fraction));
-            mPrimaryPath.lineTo(interpolate(mInternalBounds.left, mInternalBounds.right, fraction) + offset, mInternalBounds.top - offsetBase);
+        invalidateSelf();
+    }
+
+    private void fillPath(Path path, int offset) {
+        path.moveTo(mVertices[offset], mVertices[offset + 1]);
+        path.lineTo(mVertices[offset + 2], mVertices[offset + 3]);
+        path.lineTo(mVertices[offset + 4], mVertices[offset + 5]);
+        path.lineTo(mVertices[offset + 6], mVertices[offset + 7]);
+    }
+
+    private int getSegment(float fraction) {
+        if (mCurrentState == State.PLAY && (mTargetState == State.STOP || mTargetState == State.PLAY)) {
+            return SEGMENT_PLAY_TO_STOP;
         } else if (mCurrentState == State.STOP && mTargetState == State.PAUSE) {
-            float primaryBottom = mCenter - fraction * 3F / 20F * mSize;
-            float secondaryTop = mCenter + fraction * 3F / 20F * mSize;
-
-            mPrimaryPath.moveTo(mInternalBounds.right, mInternalBounds.top);
-            mPrimaryPath.lineTo(mInternalBounds.right, primaryBottom);
-            mPrimaryPath.lineTo(mInternalBounds.left, primaryBottom);
-            mPrimaryPath.lineTo(mInternalBounds.left, mInternalBounds.top);
-            mSecondaryPath.moveTo(mInternalBounds.right, mInternalBounds.bottom);
-            mSecondaryPath.lineTo(mInternalBounds.right, secondaryTop);
-            mSecondaryPath.lineTo(mInternalBounds.left, secondaryTop);
-            mSecondaryPath.lineTo(mInternalBounds.left, mInternalBounds.bottom);
+            return SEGMENT_STOP_TO_PAUSE;
         } else if (mCurrentState == State.PAUSE && mTargetState == State.PLAY) {
-            float offset = fraction * mPlayTipOffset;
-            float offsetBase = fraction * mPlayBaseOffset;
+            return fraction < 0.5f ? SEGMENT_PAUSE_TO_PLAY_SPLIT : SEGMENT_PAUSE_TO_PLAY_JOINED;
+        } else if (mCurrentState == State.PLAY && mTargetState == State.PAUSE) {
+            return fraction > 0.5f ? SEGMENT_PLAY_TO_PAUSE_SPLIT : SEGMENT_PLAY_TO_PAUSE_JOINED;
+        } else if (mCurrentState == State.PAUSE && (mTargetState == State.STOP || mTargetState == State.PAUSE)) {
+            return SEGMENT_PAUSE_TO_STOP;
+        } else {
+            return SEGMENT_STOP_TO_PLAY;
+        }
+    }
 
-            if (fraction < 0.5f) {
+    // Each vertex is linear in the fraction within a segment, so both ends are enough.
+    private void calculateKeyframes() {
+        for (int segment = 0; segment < SEGMENT_COUNT; segment++) {
+            int offset = segment * KEYFRAME_SIZE;
+            calculateVertices(segment, SEGMENT_START[segment]);
+            System.arraycopy(mVertices, 0, mKeyframes, offset, VERTEX_COUNT);
+            calculateVertices(segment, SEGMENT_END[segment]);
+            System.arraycopy(mVertices, 0, mKeyframes, offset + VERTEX_COUNT, VERTEX_COUNT);
+        }
+    }
+
+    private void calculateVertices(int segment, float fraction) {
+        float left = mInternalBounds.left;
+        float top = mInternalBounds.top;
+        float right = mInternalBounds.right;
+        float bottom = mInternalBounds.bottom;
+
+        Arrays.fill(mVertices, 0F);
+
+        switch (segment) {
+            case SEGMENT_PLAY_TO_STOP: {
+                float offset = (1f - fraction) * mPlayTipOffset;
+                float offsetBase = (1f - fraction) * mPlayBaseOffset;
+
+                setVertex(0, right + offset, interpolate(mCenter, bottom, fraction));
+                setVertex(1, left + offset, bottom + offsetBase);
+                setVertex(2, left + offset, interpolate(mCenter, top, fraction));
+                setVertex(3, interpolate(left, right, fraction) + offset, top - offsetBase);
+                break;
+            }
+            case SEGMENT_STOP_TO_PAUSE: {
+                float primaryBottom = mCenter - fraction * 3F / 20F * mSize;
+                float secondaryTop = mCenter + fraction * 3F / 20F * mSize;
+
+                setVertex(0, right, top);
+                setVertex(1, right, primaryBottom);
+                setVertex(2, left, primaryBottom);
+                setVertex(3, left, top);
+                setVertex(4, right, bottom);
+                setVertex(5, right, secondaryTop);
+                setVertex(6, left, secondaryTop);
+                setVertex(7, left, bottom);
+                break;
+            }
+            case SEGMENT_PAUSE_TO_PLAY_SPLIT: {
+                float offset = fraction * mPlayTipOffset;
+                float offsetBase = fraction * mPlayBaseOffset;
                 float primaryRight = mCenter - (-2f * fraction + 1f) * 3f / 20f * mSize;
-                float primaryBottomLeft = mInternalBounds.left + fraction * (mSize / 2f);
+                float primaryBottomLeft = left + fraction * (mSize / 2f);
                 float secondaryLeft = mCenter + (-2f * fraction + 1f) * 3f / 20f * mSize;
-                float secondaryBottomRight = mInternalBounds.right - fraction * (mSize / 2f);
-
-                mPrimaryPath.moveTo(mInternalBounds.left - offsetBase, mInternalBounds.bottom - offset);
-                mPrimaryPath.lineTo(primaryRight, mInternalBounds.bottom - offset);
-                mPrimaryPath.lineTo(primaryRight, mInternalBounds.top - offset);
-                mPrimaryPath.lineTo(primaryBottomLeft, mInternalBounds.top - offset);
-                mSecondaryPath.moveTo(mInternalBounds.right + offsetBase, mInternalBounds.bottom - offset);
-                mSecondaryPath.lineTo(secondaryLeft, mInternalBounds.bottom - offset);
-                mSecondaryPath.lineTo(secondaryLeft, mInternalBounds.top - offset);
-                mSecondaryPath.lineTo(secondaryBottomRight, mInternalBounds.top - offset);
-            } else {
-                float primaryBottomLeft = mInternalBounds.left + fraction * (mSize / 2f);
-                float secondaryBottomRight = mInternalBounds.right - fraction * (mSize / 2f);
-
-                mPrimaryPath.moveTo(mInternalBounds.left - offsetBase, mInternalBounds.bottom - offset);
-                mPrimaryPath.lineTo(primaryBottomLeft, mInternalBounds.top - offset);
-                mPrimaryPath.lineTo(secondaryBottomRight, mInternalBounds.top - offset);
-                mPrimaryPath.lineTo(mInternalBounds.right + offsetBase, mInternalBounds.bottom - offset);
-            }
-        } else if (mCurrentState == State.PLAY && mTargetState == State.PAUSE) {
-            float offset = (1f - fraction) * mPlayTipOffset;
-            float offsetBase = (1f - fraction) * mPlayBaseOffset;
-
-            if (fraction > 0.5f) {
+                float secondaryBottomRight = right - fraction * (mSize / 2f);
+
+                setVertex(0, left - offsetBase, bottom - offset);
+                setVertex(1, primaryRight, bottom - offset);
+                setVertex(2, primaryRight, top - offset);
+                setVertex(3, primaryBottomLeft, top - offset);
+                setVertex(4, right + offsetBase, bottom - offset);
+                setVertex(5, secondaryLeft, bottom - offset);
+                setVertex(6, secondaryLeft, top - offset);
+                setVertex(7, secondaryBottomRight, top - offset);
+                break;
+            }
+            case SEGMENT_PAUSE_TO_PLAY_JOINED: {
+                float offset = fraction * mPlayTipOffset;
+                float offsetBase = fraction * mPlayBaseOffset;
+                float primaryBottomLeft = left + fraction * (mSize / 2f);
+                float secondaryBottomRight = right - fraction * (mSize / 2f);
+
+                setVertex(0, left - offsetBase, bottom - offset);
+                setVertex(1, primaryBottomLeft, top - offset);
+                setVertex(2, secondaryBottomRight, top - offset);
+                setVertex(3, right + offsetBase, bottom - offset);
+                break;
+            }
+            case SEGMENT_PLAY_TO_PAUSE_SPLIT: {
+                float offset = (1f - fraction) * mPlayTipOffset;
+                float offsetBase = (1f - fraction) * mPlayBaseOffset;
                 float primaryBottom = mCenter - (2f * fraction - 1f) * 3f / 20f * mSize;
-                float primaryLeftTop = mInternalBounds.left + (1f - fraction) * (mSize / 2f);
+                float primaryLeftTop = left + (1f - fraction) * (mSize / 2f);
                 float secondaryTop = mCenter + (2f * fraction - 1f) * 3f / 20f * mSize;
-                float secondaryLeftBottom = mInternalBounds.right - (1f - fraction) * (mSize / 2f);
-
-                mPrimaryPath.moveTo(mInternalBounds.left + offset, mInternalBounds.top - offsetBase);
-                mPrimaryPath.lineTo(mInternalBounds.left + offset, primaryBottom);
-                mPrimaryPath.lineTo(mInternalBounds.right + offset, primaryBottom);
-                mPrimaryPath.lineTo(mInternalBounds.right + offset, primaryLeftTop);
-                mSecondaryPath.moveTo(mInternalBounds.left + offset, mInternalBounds.bottom + offsetBase);
-                mSecondaryPath.lineTo(mInternalBounds.left + offset, secondaryTop);
-                mSecondaryPath.lineTo(mInternalBounds.right + offset, secondaryTop);
-                mSecondaryPath.lineTo(mInternalBounds.right + offset, secondaryLeftBottom);
-            } else {
-                float primaryLeftTop = mInternalBounds.left + (1f - fraction) * (mSize / 2f);
-                float secondaryLeftBottom = mInternalBounds.right - (1f - fraction) * (mSize / 2f);
-
-                mPrimaryPath.moveTo(mInternalBounds.left + offset, mInternalBounds.top - offsetBase);
-                mPrimaryPath.lineTo(mInternalBounds.right + offset, primaryLeftTop);
-                mPrimaryPath.lineTo(mInternalBounds.right + offset, secondaryLeftBottom);
-                mPrimaryPath.lineTo(mInternalBounds.left + offset, mInternalBounds.bottom + offsetBase);
+                float secondaryLeftBottom = right - (1f - fraction) * (mSize / 2f);
+
+                setVertex(0, left + offset, top - offsetBase);
+                setVertex(1, left + offset, primaryBottom);
+                setVertex(2, right + offset, primaryBottom);
+                setVertex(3, right + offset, primaryLeftTop);
+                setVertex(4, left + offset, bottom + offsetBase);
+                setVertex(5, left + offset, secondaryTop);
+                setVertex(6, right + offset, secondaryTop);
+                setVertex(7, right + offset, secondaryLeftBottom);
+                break;
+            }
+            case SEGMENT_PLAY_TO_PAUSE_JOINED: {
+                float offset = (1f - fraction) * mPlayTipOffset;
+                float offsetBase = (1f - fraction) * mPlayBaseOffset;
+                float primaryLeftTop = left + (1f - fraction) * (mSize / 2f);
+                float secondaryLeftBottom = right - (1f - fraction) * (mSize / 2f);
+
+                setVertex(0, left + offset, top - offsetBase);
+                setVertex(1, right + offset, primaryLeftTop);
+                setVertex(2, right + offset, secondaryLeftBottom);
+                setVertex(3, left + offset, bottom + offsetBase);
+                break;
+            }
+            case SEGMENT_PAUSE_TO_STOP: {
+                float primaryRight = mCenter - (1f - fraction) * 3f / 20f * mSize;
+                float secondaryLeft = mCenter + (1f - fraction) * 3f / 20f * mSize;
+
+                setVertex(0, left, top);
+                setVertex(1, primaryRight, top);
+                setVertex(2, primaryRight, bottom);
+                setVertex(3, left, bottom);
+                setVertex(4, right, top);
+                setVertex(5, secondaryLeft, top);
+                setVertex(6, secondaryLeft, bottom);
+                setVertex(7, right, bottom);
+                break;
+            }
+            case SEGMENT_STOP_TO_PLAY: {
+                float offset = fraction * mPlayTipOffset;
+                float offsetBase = fraction * mPlayBaseOffset;
+
+                setVertex(0, interpolate(left, mCenter, fraction), top - offset);
+                setVertex(1, left - offsetBase, bottom - offset);
+                setVertex(2, interpolate(right, mCenter, fraction), bottom - offset);
+                setVertex(3, right + offsetBase, interpolate(top, bottom, fraction) - offset);
+                break;
             }
-        } else if (mCurrentState == State.PAUSE && (mTargetState == State.STOP || mTargetState == State.PAUSE)) {
-            float primaryRight = mCenter - (1f - fraction) * 3f / 20f * mSize;
-            float secondaryLeft = mCenter + (1f - fraction) * 3f / 20f * mSize;
-
-            mPrimaryPath.moveTo(mInternalBounds.left, mInternalBounds.top);
-            mPrimaryPath.lineTo(primaryRight, mInternalBounds.top);
-            mPrimaryPath.lineTo(primaryRight, mInternalBounds.bottom);
-            mPrimaryPath.lineTo(mInternalBounds.left, mInternalBounds.bottom);
-            mSecondaryPath.moveTo(mInternalBounds.right, mInternalBounds.top);
-            mSecondaryPath.lineTo(secondaryLeft, mInternalBounds.top);
-            mSecondaryPath.lineTo(secondaryLeft, mInternalBounds.bottom);
-            mSecondaryPath.lineTo(mInternalBounds.right, mInternalBounds.bottom);
-        } else if (mCurrentState == State.STOP && (mTargetState == State.PLAY || mTargetState == State.STOP)) {
-            float offset = fraction * mPlayTipOffset;
-            float offsetBase = fraction * mPlayBaseOffset;
-
-            mPrimaryPath.moveTo(interpolate(mInternalBounds.left, mCenter, fraction), mInternalBounds.top - offset);
-            mPrimaryPath.lineTo(mInternalBounds.left - offsetBase, mInternalBounds.bottom - offset);
-            mPrimaryPath.lineTo(interpolate(mInternalBounds.right, mCenter, fraction), mInternalBounds.bottom - offset);
-            mPrimaryPath.lineTo(mInternalBounds.right + offsetBase, interpolate(mInternalBounds.top, mInternalBounds.bottom, fraction) - offset);
         }
+    }
 
-        invalidateSelf();
+    private void setVertex(int index, float x, float y) {
+        mVertices[index * 2] = x;
+        mVertices[index * 2 + 1] = y;
     }
 
     private void calculateTrimArea(Rect bounds) {
@@ -253,6 +378,7 @@ public class MediaControlDrawable extends Drawable {
         mSize = mInternalBounds.width();
         mPlayTipOffset = 1F / 6F * mSize;
         mPlayBaseOffset = 0.07735F * mSize;
+        calculateKeyframes();
         setTransitionState(0F, 0F);
     }
 
@@ -273,6 +399,83 @@ public class MediaControlDrawable extends Drawable {
         return mCurrentState;
     }
 
+    public void setStateCacheEnabled(boolean enabled) {
+        mStateCacheEnabled = enabled;
+        mStateBitmap = null;
+        invalidateSelf();
+    }
+
+    public boolean isStateCacheEnabled() {
+        return mStateCacheEnabled;
+    }
+
+    public static void clearStateCache() {
+        sStateCache.evictAll();
+    }
+
+    private Bitmap obtainStateBitmap(Rect bounds) {
+        int width = bounds.width();
+        int height = bounds.height();
+
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+
+        StateKey key = new StateKey(mCurrentState, width, height, mPaint.getColor(), mPadding);
+        Bitmap bitmap = sStateCache.get(key);
+
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(bitmap);
+            canvas.translate(-bounds.left, -bounds.top);
+            drawPaths(canvas, bounds);
+            sStateCache.put(key, bitmap);
+        }
+
+        return bitmap;
+    }
+
+    private static final class StateKey {
+
+        private final State mState;
+        private final int mWidth;
+        private final int mHeight;
+        private final int mColor;
+        private final float mPadding;
+
+        StateKey(State state, int width, int height, int color, float padding) {
+            mState = state;
+            mWidth = width;
+            mHeight = height;
+            mColor = color;
+            mPadding = padding;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof StateKey)) {
+                return false;
+            }
+
+            StateKey key = (StateKey) o;
+            return mState == key.mState && mWidth == key.mWidth && mHeight == key.mHeight && mColor == key.mColor && Float.compare(mPadding, key.mPadding) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mState.hashCode();
+            result = 31 * result + mWidth;
+            result = 31 * result + mHeight;
+            result = 31 * result + mColor;
+            result = 31 * result + Float.floatToIntBits(mPadding);
+            return result;
+        }
+    }
+
     public static class Builder {
 
         private int mColor;
@@ -281,6 +484,7 @@ public class MediaControlDrawable extends Drawable {
         private State mInitialState;
         private Context mContext;
         private Interpolator mAnimationInterpolator;
+        private boolean mStateCacheEnabled;
 
         public Builder(Context context) {
             mContext = context;
@@ -316,8 +520,15 @@ public class MediaControlDrawable extends Drawable {
             return this;
         }
 
+        public Builder setStateCacheEnabled(boolean enabled) {
+            mStateCacheEnabled = enabled;
+            return this;
+        }
+
         public MediaControlDrawable build() {
-            return new MediaControlDrawable(mColor, mPadding, mInitialState, mAnimationInterpolator, mAnimationDuration);
+            MediaControlDrawable drawable = new MediaControlDrawable(mColor, mPadding, mInitialState, mAnimationInterpolator, mAnimationDuration);
+            drawable.setStateCacheEnabled(mStateCacheEnabled);
+            return drawable;
         }
     }
 
@@ -522,6 +733,9 @@ public class MediaControlDrawable extends Drawable {
 
             final ValueAnimator mValueAnimator;
 
+            private final int[] mIntValues = new int[2];
+            private final float[] mFloatValues = new float[2];
+
             ValueAnimatorCompatImplHoneycombMr1() {
                 mValueAnimator = new ValueAnimator();
             }
@@ -583,22 +797,26 @@ public class MediaControlDrawable extends Drawable {
 
             @Override
             public void setIntValues(int from, int to) {
+                mIntValues[0] = from;
+                mIntValues[1] = to;
                 mValueAnimator.setIntValues(from, to);
             }
 
             @Override
             public int getAnimatedIntValue() {
-                return (int) mValueAnimator.getAnimatedValue();
+                return AnimationUtils.lerp(mIntValues[0], mIntValues[1], getAnimatedFraction());
             }
 
             @Override
             public void setFloatValues(float from, float to) {
+                mFloatValues[0] = from;
+                mFloatValues[1] = to;
                 mValueAnimator.setFloatValues(from, to);
             }
 
             @Override
             public float getAnimatedFloatValue() {
-                return (float) mValueAnimator.getAnimatedValue();
+                return AnimationUtils.lerp(mFloatValues[0], mFloatValues[1], getAnimatedFraction());
             }
 
             @Override
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.PagerSnapHelper;
+import android.support.v7.widget.RecyclerView;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+import org.michaelbel.material.R;
+
+import static android.graphics.drawable.GradientDrawable.Orientation.LEFT_RIGHT;
+import static android.graphics.drawable.GradientDrawable.Orientation.RIGHT_LEFT;
+
+@SuppressWarnings("all")
+public class ParallaxRecyclerPager extends RecyclerView {
+
+    private static final int[] SHADOW_COLORS = new int[] {
+        0x33000000,
+        0x11000000,
+        0x00000000
+    };
+
+    private ParallaxViewPager.Mode mMode;
+    private Drawable mRightShadow;
+    private Drawable mLeftShadow;
+    private ShadowRenderer mRightShadowRenderer;
+    private ShadowRenderer mLeftShadowRenderer;
+
+    private int mOutset;
+    private int mShadowWidth;
+    private float mOutsetFraction = 0.5f;
+
+    private Interpolator mInterpolator = new LinearInterpolator();
+    private LinearLayoutManager mLayoutManager;
+    private PagerSnapHelper mSnapHelper;
+
+    private int[] mDrawingOrder = new int[4];
+    private int mDrawingOrderCount;
+
+    public ParallaxRecyclerPager(Context context) {
+        this(context, null);
+    }
+
+    public ParallaxRecyclerPager(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        mLayoutManager = new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false);
+        setLayoutManager(mLayoutManager);
+        mSnapHelper = new PagerSnapHelper();
+        mSnapHelper.attachToRecyclerView(this);
+
+        // Overlap comes from the drawing order: the page that stays in place is drawn first.
+        setChildDrawingOrderCallback(new ChildDrawingOrderCallback() {
+            @Override
+            public int onGetChildDrawingOrder(int childCount, int i) {
+                if (childCount != mDrawingOrderCount) {
+                    updateDrawingOrder();
+                }
+                return mDrawingOrder[i];
+            }
+        });
+
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.ParallaxViewPager, 0,0);
+        mMode = ParallaxViewPager.Mode.values()[a.getInt(R.styleable.ParallaxViewPager_mode, 0)];
+
+        if (a.hasValue(R.styleable.ParallaxViewPager_right_shadow)) {
+            mRightShadow = a.getDrawable(R.styleable.ParallaxViewPager_right_shadow);
+        }
+
+        if (a.hasValue(R.styleable.ParallaxViewPager_left_shadow)) {
+            mLeftShadow = a.getDrawable(R.styleable.ParallaxViewPager_left_shadow);
+        }
+
+        mShadowWidth = a.getDimensionPixelSize(R.styleable.ParallaxViewPager_shadow_width, (int) dp2px(20, context));
+        mRightShadowRenderer = ShadowRenderer.obtain(SHADOW_COLORS, mShadowWidth, LEFT_RIGHT);
+        mLeftShadowRenderer = ShadowRenderer.obtain(SHADOW_COLORS, mShadowWidth, RIGHT_LEFT);
+        TypedValue tv = a.peekValue(R.styleable.ParallaxViewPager_outset);
+
+        if (tv != null) {
+            if (tv.type == TypedValue.TYPE_FRACTION) {
+                setOutsetFraction(a.getFraction(R.styleable.ParallaxViewPager_outset, 1, 1, 0));
+            } else if (tv.type == TypedValue.TYPE_DIMENSION) {
+                setOutset((int) TypedValue.complexToDimension(tv.data, getResources().getDisplayMetrics()));
+            }
+        }
+
+        final int resID = a.getResourceId(R.styleable.ParallaxViewPager_interpolator, 0);
+
+        if (resID > 0) {
+            setInterpolator(context, resID);
+        }
+
+        a.recycle();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        transformPages();
+    }
+
+    @Override
+    public void onScrolled(int dx, int dy) {
+        super.onScrolled(dx, dy);
+        transformPages();
+    }
+
+    @Override
+    protected void dispatchDraw(@NonNull Canvas canvas) {
+        super.dispatchDraw(canvas);
+        drawShadow(canvas);
+    }
+
+    public int getCurrentItem() {
+        View page = mSnapHelper.findSnapView(mLayoutManager);
+        return page != null ? getChildAdapterPosition(page) : NO_POSITION;
+    }
+
+    public void setCurrentItem(int item) {
+        setCurrentItem(item, true);
+    }
+
+    public void setCurrentItem(int item, boolean smoothScroll) {
+        if (smoothScroll) {
+            smoothScrollToPosition(item);
+        } else {
+            scrollToPosition(item);
+        }
+    }
+
+    public ParallaxViewPager.Mode getMode() {
+        return mMode;
+    }
+
+    public void setMode(ParallaxViewPager.Mode mode) {
+        mMode = mode;
+        transformPages();
+        invalidate();
+    }
+
+    public int getOutset() {
+        return mOutset;
+    }
+
+    public void setOutset(int outset) {
+        mOutset = outset;
+        mOutsetFraction = 0;
+        transformPages();
+    }
+
+    public float getOutsetFraction() {
+        return mOutsetFraction;
+    }
+
+    public void setOutsetFraction(float outsetFraction) {
+        mOutsetFraction = outsetFraction;
+        mOutset = 0;
+        transformPages();
+    }
+
+    public void setRightShadow(Drawable rightShadow) {
+        mRightShadow = rightShadow;
+    }
+
+    public void setLeftShadow(Drawable leftShadow) {
+        mLeftShadow = leftShadow;
+    }
+
+    public Interpolator getInterpolator() {
+        return mInterpolator;
+    }
+
+    public void setInterpolator(Interpolator i) {
+        mInterpolator = i != null ? i : new LinearInterpolator();
+        transformPages();
+    }
+
+    public void setInterpolator(Context context, int resID) {
+        setInterpolator(LookupTableInterpolator.obtain(context, resID));
+    }
+
+    private void updateDrawingOrder() {
+        int count = getChildCount();
+        if (mDrawingOrder.length < count) {
+            mDrawingOrder = new int[count];
+        }
+
+        // Insertion sort by left edge, children are nearly ordered already.
+        for (int i = 0; i < count; i++) {
+            int left = getChildAt(i).getLeft();
+            int j = i - 1;
+            while (j >= 0 && getChildAt(mDrawingOrder[j]).getLeft() > left) {
+                mDrawingOrder[j + 1] = mDrawingOrder[j];
+                j--;
+            }
+            mDrawingOrder[j + 1] = i;
+        }
+
+        if (mMode == ParallaxViewPager.Mode.LEFT_OVERLAY) {
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int index = mDrawingOrder[i];
+                mDrawingOrder[i] = mDrawingOrder[j];
+                mDrawingOrder[j] = index;
+            }
+        }
+
+        mDrawingOrderCount = count;
+    }
+
+    private void transformPages() {
+        updateDrawingOrder();
+
+        int width = getWidth() - getPaddingLeft() - getPaddingRight();
+        if (width <= 0) {
+            return;
+        }
+
+        int count = getChildCount();
+        for (int i = 0; i < count; i++) {
+            View page = getChildAt(i);
+            transformPage(page, (page.getLeft() - getPaddingLeft()) / (float) width);
+        }
+    }
+
+    private void transformPage(View page, float position) {
+        page.setTranslationX(0);
+
+        if (position == 0 || position <= -1 || position >= 1) {
+            return;
+        }
+
+        if ((mMode == ParallaxViewPager.Mode.LEFT_OVERLAY && position > 0) || (mMode == ParallaxViewPager.Mode.RIGHT_OVERLAY && position < 0)) {
+            int pageWidth = page.getWidth();
+            int outset = mOutset > 0 ? mOutset : (int) (mOutsetFraction * pageWidth);
+
+            float interpolatorPosition = mInterpolator.getInterpolation(Math.abs(position));
+            page.setTranslationX(ParallaxViewPager.computeTranslationX(position, interpolatorPosition, pageWidth, outset));
+        }
+    }
+
+    private void drawShadow(Canvas canvas) {
+        if (mMode == ParallaxViewPager.Mode.NONE) {
+            return;
+        }
+
+        // The boundary between the two visible pages, before any translation.
+        int boundary = -1;
+        int count = getChildCount();
+
+        for (int i = 0; i < count; i++) {
+            View page = getChildAt(i);
+            if (page.getLeft() < getPaddingLeft() && page.getRight() > getPaddingLeft()) {
+                boundary = page.getRight();
+                break;
+            }
+        }
+
+        if (boundary < 0) {
+            return;
+        }
+
+        switch (mMode) {
+            case LEFT_OVERLAY:
+                drawShadow(canvas, mRightShadow, mRightShadowRenderer, boundary);
+                break;
+            case RIGHT_OVERLAY:
+                drawShadow(canvas, mLeftShadow, mLeftShadowRenderer, boundary - mShadowWidth);
+                break;
+        }
+    }
+
+    private void drawShadow(Canvas canvas, Drawable shadow, ShadowRenderer renderer, float translate) {
+        if (shadow == null) {
+            renderer.draw(canvas, translate, 0, getHeight());
+            return;
+        }
+
+        canvas.save();
+        canvas.translate(translate, 0);
+        shadow.setBounds(0, 0, mShadowWidth, getHeight());
+        shadow.draw(canvas);
+        canvas.restore();
+    }
+
+    private float dp2px(int dip, Context context) {
+        float scale = context.getResources().getDisplayMetrics().density;
+        return dip * scale + 0.5f;
+    }
+}
\ No newline at end of file
@@ -16,50 +16,40 @@
 
 package org.michaelbel.material.widget;
 
-import android.animation.FloatEvaluator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
-import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.View;
-import android.view.ViewGroup;
-import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
 import org.michaelbel.material.R;
 
+import java.util.ArrayList;
+
 import static android.graphics.drawable.GradientDrawable.Orientation.LEFT_RIGHT;
 import static android.graphics.drawable.GradientDrawable.Orientation.RIGHT_LEFT;
 
 @SuppressWarnings("all")
 public class ParallaxViewPager extends ViewPager {
 
+    private static final int[] SHADOW_COLORS = new int[] {
+        0x33000000,
+        0x11000000,
+        0x00000000
+    };
+
     private Mode mMode;
-    private int mShadowStart = Color.parseColor("#33000000");
-    private int mShadowMid = Color.parseColor("#11000000");
-    private int mShadowEnd = Color.parseColor("#00000000");
-
-    private Drawable mRightShadow =
-        new GradientDrawable(LEFT_RIGHT, new int[]{
-            mShadowStart,
-            mShadowMid,
-            mShadowEnd
-        });
-
-    private Drawable mLeftShadow =
-        new GradientDrawable(RIGHT_LEFT, new int[]{
-            mShadowStart,
-            mShadowMid,
-            mShadowEnd
-        });
+    private Drawable mRightShadow;
+    private Drawable mLeftShadow;
+    private ShadowRenderer mRightShadowRenderer;
+    private ShadowRenderer mLeftShadowRenderer;
 
     private int mOutset;
     private int mShadowWidth;
@@ -68,6 +58,21 @@ public class ParallaxViewPager extends ViewPager {
     private Interpolator mInterpolator;
     private ParallaxTransformer mParallaxTransformer;
 
+    private boolean mHardwareLayersEnabled;
+    private int mMaxHardwareLayers = 2;
+    private int mScrollState = SCROLL_STATE_IDLE;
+    private final ArrayList<View> mLayerPages = new ArrayList<>();
+
+    private final OnPageChangeListener mScrollStateListener = new SimpleOnPageChangeListener() {
+        @Override
+        public void onPageScrollStateChanged(int state) {
+            mScrollState = state;
+            if (state == SCROLL_STATE_IDLE) {
+                releaseHardwareLayers();
+            }
+        }
+    };
+
     public enum Mode {
         LEFT_OVERLAY(0),
         RIGHT_OVERLAY(1),
@@ -87,6 +92,8 @@ public class ParallaxViewPager extends ViewPager {
     public ParallaxViewPager(Context context, AttributeSet attrs) {
         super(context, attrs);
         mParallaxTransformer = new ParallaxTransformer();
+        addOnPageChangeListener(mScrollStateListener);
+
         TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.ParallaxViewPager, 0,0);
         mMode = Mode.values()[a.getInt(R.styleable.ParallaxViewPager_mode, 0)];
         setMode(mMode);
@@ -100,6 +107,8 @@ public class ParallaxViewPager extends ViewPager {
         }
 
         mShadowWidth = a.getDimensionPixelSize(R.styleable.ParallaxViewPager_shadow_width, (int) dp2px(20, context));
+        mRightShadowRenderer = ShadowRenderer.obtain(SHADOW_COLORS, mShadowWidth, LEFT_RIGHT);
+        mLeftShadowRenderer = ShadowRenderer.obtain(SHADOW_COLORS, mShadowWidth, RIGHT_LEFT);
         TypedValue tv = a.peekValue(R.styleable.ParallaxViewPager_outset);
 
         if (tv != null) {
@@ -143,6 +152,84 @@ public class ParallaxViewPager extends ViewPager {
                 mParallaxTransformer.transformPage(getChildAt(i), 0);
             }
         }
+
+        if (mHardwareLayersEnabled && mScrollState != SCROLL_STATE_IDLE) {
+            updateHardwareLayers();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        releaseHardwareLayers();
+        super.onDetachedFromWindow();
+    }
+
+    // The scroll state listener is internal and must survive callers clearing their own listeners.
+    @Override
+    public void clearOnPageChangeListeners() {
+        super.clearOnPageChangeListeners();
+        addOnPageChangeListener(mScrollStateListener);
+    }
+
+    public boolean isHardwareLayersEnabled() {
+        return mHardwareLayersEnabled;
+    }
+
+    public void setHardwareLayersEnabled(boolean enabled) {
+        mHardwareLayersEnabled = enabled;
+        if (!enabled) {
+            releaseHardwareLayers();
+        }
+    }
+
+    public int getMaxHardwareLayers() {
+        return mMaxHardwareLayers;
+    }
+
+    public void setMaxHardwareLayers(int maxHardwareLayers) {
+        mMaxHardwareLayers = Math.max(0, maxHardwareLayers);
+        while (mLayerPages.size() > mMaxHardwareLayers) {
+            releaseHardwareLayer(mLayerPages.size() - 1);
+        }
+    }
+
+    private void updateHardwareLayers() {
+        int left = getScrollX();
+        int right = left + getWidth();
+
+        for (int i = mLayerPages.size() - 1; i >= 0; i--) {
+            View page = mLayerPages.get(i);
+            if (page.getParent() != this || page.getRight() <= left || page.getLeft() >= right) {
+                releaseHardwareLayer(i);
+            }
+        }
+
+        if (!isHardwareAccelerated()) {
+            return;
+        }
+
+        int count = getChildCount();
+        for (int i = 0; i < count && mLayerPages.size() < mMaxHardwareLayers; i++) {
+            View page = getChildAt(i);
+            if (((LayoutParams) page.getLayoutParams()).isDecor || page.getRight() <= left || page.getLeft() >= right) {
+                continue;
+            }
+
+            if (page.getLayerType() == LAYER_TYPE_NONE) {
+                page.setLayerType(LAYER_TYPE_HARDWARE, null);
+                mLayerPages.add(page);
+            }
+        }
+    }
+
+    private void releaseHardwareLayers() {
+        for (int i = mLayerPages.size() - 1; i >= 0; i--) {
+            releaseHardwareLayer(i);
+        }
+    }
+
+    private void releaseHardwareLayer(int index) {
+        mLayerPages.remove(index).setLayerType(LAYER_TYPE_NONE, null);
     }
 
     public int getOutset() {
@@ -183,7 +270,7 @@ public class ParallaxViewPager extends ViewPager {
     }
 
     public void setInterpolator(Context context, int resID) {
-        setInterpolator(AnimationUtils.loadInterpolator(context, resID));
+        setInterpolator(LookupTableInterpolator.obtain(context, resID));
     }
 
     protected void ensureInterpolator() {
@@ -216,8 +303,14 @@ public class ParallaxViewPager extends ViewPager {
     }
 
     private void drawRightShadow(Canvas canvas) {
-        canvas.save();
         float translate = (getScrollX() / getWidth() + 1) * getWidth();
+
+        if (mRightShadow == null) {
+            mRightShadowRenderer.draw(canvas, translate, 0, getHeight());
+            return;
+        }
+
+        canvas.save();
         canvas.translate(translate, 0);
         mRightShadow.setBounds(0, 0, mShadowWidth, getHeight());
         mRightShadow.draw(canvas);
@@ -225,8 +318,14 @@ public class ParallaxViewPager extends ViewPager {
     }
 
     private void drawLeftShadow(Canvas canvas) {
-        canvas.save();
         float translate = (getScrollX() / getWidth() + 1) * getWidth() - mShadowWidth;
+
+        if (mLeftShadow == null) {
+            mLeftShadowRenderer.draw(canvas, translate, 0, getHeight());
+            return;
+        }
+
+        canvas.save();
         canvas.translate(translate, 0);
         mLeftShadow.setBounds(0, 0, mShadowWidth, getHeight());
         mLeftShadow.draw(canvas);
@@ -246,6 +345,7 @@ public class ParallaxViewPager extends ViewPager {
         mMode = mode;
         mParallaxTransformer.setMode(mode);
 
+        // Overlap comes from the pager's child drawing order: reversed keeps the left page on top.
         if (mode == Mode.LEFT_OVERLAY) {
             setPageTransformer(true, mParallaxTransformer);
         } else if (mode == Mode.RIGHT_OVERLAY) {
@@ -257,15 +357,10 @@ public class ParallaxViewPager extends ViewPager {
 
         private Mode mMode;
         private Interpolator mInterpolator = new LinearInterpolator();
-        private FloatEvaluator mEvaluator;
 
         private int mOutset;
         private float mOutsetFraction = 0.5f;
 
-        public ParallaxTransformer() {
-            mEvaluator = new FloatEvaluator();
-        }
-
         public Mode getMode() {
             return mMode;
         }
@@ -306,15 +401,11 @@ public class ParallaxViewPager extends ViewPager {
                 case LEFT_OVERLAY:
                     if (position > 0) {
                         transform(page, position);
-                    } else if (position < 0) {
-                        bringViewToFront(page);
                     }
                     break;
                 case RIGHT_OVERLAY:
                     if (position < 0) {
                         transform(page, position);
-                    } else if (position > 0) {
-                        bringViewToFront(page);
                     }
                     break;
                 case NONE:
@@ -322,38 +413,26 @@ public class ParallaxViewPager extends ViewPager {
             }
         }
 
-        private void bringViewToFront(View view) {
-            ViewGroup group = (ViewGroup) view.getParent();
-            int index = group.indexOfChild(view);
-            if (index != group.getChildCount() - 1) {
-                view.bringToFront();
-
-                if (Build.VERSION.SDK_INT <= Build.VERSION_CODES.KITKAT) {
-                    view.requestLayout();
-                    group.invalidate();
-                }
-            }
-        }
-
         private void transform(View page, float position) {
-            float interpolatorPosition;
-            float translationX;
             int pageWidth = page.getWidth();
 
             if (mOutset <= 0) {
                 mOutset = (int) (mOutsetFraction * page.getWidth());
             }
 
-            if (position < 0) {
-                interpolatorPosition = mInterpolator.getInterpolation(Math.abs(position));
-                translationX = -mEvaluator.evaluate(interpolatorPosition, 0, (pageWidth - mOutset));
-            } else {
-                interpolatorPosition = mInterpolator.getInterpolation(position);
-                translationX = mEvaluator.evaluate(interpolatorPosition, 0, (pageWidth - mOutset));
-            }
+            float interpolatorPosition = mInterpolator.getInterpolation(Math.abs(position));
+            page.setTranslationX(computeTranslationX(position, interpolatorPosition, pageWidth, mOutset));
+        }
+    }
 
-            translationX += -page.getWidth() * position;
-            page.setTranslationX(translationX);
+    // Runs for every page on every scroll frame, so it works on primitives only.
+    static float computeTranslationX(float position, float interpolatorPosition, int pageWidth, int outset) {
+        float translationX = interpolatorPosition * (pageWidth - outset);
+
+        if (position < 0) {
+            translationX = -translationX;
         }
+
+        return translationX - pageWidth * position;
     }
 }
\ No newline at end of file
@@ -17,9 +17,13 @@
 package org.michaelbel.material.widget;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.view.GestureDetector;
@@ -31,7 +35,7 @@ import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.WeakHashMap;
 
 @SuppressWarnings("all")
 public class RecyclerListView extends RecyclerView {
@@ -41,7 +45,8 @@ public class RecyclerListView extends RecyclerView {
     private RecyclerView.OnScrollListener onScrollListener;
     private OnInterceptTouchListener onInterceptTouchListener;
     private View emptyView;
-    private Runnable selectChildRunnable;
+    private SectionItemDecoration sectionDecoration;
+    private boolean selectChildPending;
 
     private GestureDetector mGestureDetector;
     private View currentChildView;
@@ -50,10 +55,21 @@ public class RecyclerListView extends RecyclerView {
     private boolean wasPressed;
     private boolean disallowInterceptTouchEvents;
     private boolean instantClick;
-    private Runnable clickRunnable;
+    private View clickedView;
+    private int clickedPosition;
+    private MotionEvent cancelEvent;
+
+    private Drawable scrollbarThumb;
+    private int scrollbarSize;
+    private int scrollbarAlpha;
+    private long scrollbarFadeStartTime;
+    private boolean verticalScrollbarEnabled;
+
+    private static final int[] SCROLLBAR_ATTRS = new int[] {
+            android.R.attr.scrollbarThumbVertical
+    };
 
-    private static int[] attributes;
-    private static boolean gotAttributes;
+    private static final WeakHashMap<Resources.Theme, Drawable.ConstantState> scrollbarThumbs = new WeakHashMap<>();
     private static volatile Handler applicationHandler = new Handler(Looper.getMainLooper());
 
     public RecyclerListView(Context context) {
@@ -70,38 +86,28 @@ public class RecyclerListView extends RecyclerView {
     }
 
     private void initialize(Context context, AttributeSet attrs, int defStyle) {
-        try {
-            if (!gotAttributes) {
-                attributes = getResourceDeclareStyleableIntArray("com.android.internal", "View");
-                gotAttributes = true;
-            }
-
-            TypedArray a = context.getTheme().obtainStyledAttributes(attributes);
-            Method initializeScrollbars = android.view.View.class.getDeclaredMethod("initializeScrollbars", TypedArray.class);
-            initializeScrollbars.invoke(this, a);
-            a.recycle();
-        } catch (Throwable e) {
-            e.printStackTrace();
-        }
+        verticalScrollbarEnabled = super.isVerticalScrollBarEnabled();
+        super.setVerticalScrollBarEnabled(false);
+        scrollbarThumb = obtainScrollbarThumb(context);
+        scrollbarSize = ViewConfiguration.get(context).getScaledScrollBarSize();
 
         super.addOnScrollListener(new OnScrollListener() {
             @Override
             public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
                 if (newState != SCROLL_STATE_IDLE && currentChildView != null) {
-                    if (selectChildRunnable != null) {
-                        cancelRunOnUIThread(selectChildRunnable);
-                        selectChildRunnable = null;
+                    cancelSelectChild();
+
+                    if (cancelEvent == null) {
+                        cancelEvent = MotionEvent.obtain(0, 0, MotionEvent.ACTION_CANCEL, 0, 0, 0);
                     }
 
-                    MotionEvent event = MotionEvent.obtain(0, 0, MotionEvent.ACTION_CANCEL, 0, 0, 0);
                     try {
-                        mGestureDetector.onTouchEvent(event);
+                        mGestureDetector.onTouchEvent(cancelEvent);
                     } catch (Exception e) {
                         e.printStackTrace();
                     }
 
-                    currentChildView.onTouchEvent(event);
-                    event.recycle();
+                    currentChildView.onTouchEvent(cancelEvent);
                     currentChildView.setPressed(false);
                     currentChildView = null;
                     interceptedByChild = false;
@@ -114,6 +120,10 @@ public class RecyclerListView extends RecyclerView {
 
             @Override
             public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy != 0) {
+                    awakenScrollbar();
+                }
+
                 if (onScrollListener != null) {
                     onScrollListener.onScrolled(recyclerView, dx, dy);
                 }
@@ -143,35 +153,23 @@ public class RecyclerListView extends RecyclerView {
                 public boolean onSingleTapUp(MotionEvent e) {
                     if (currentChildView != null && onItemClickListener != null) {
                         currentChildView.setPressed(true);
-                        final View view = currentChildView;
 
                         if (instantClick) {
-                            view.playSoundEffect(SoundEffectConstants.CLICK);
-                            onItemClickListener.onItemClick(view, currentChildPosition);
+                            currentChildView.playSoundEffect(SoundEffectConstants.CLICK);
+                            onItemClickListener.onItemClick(currentChildView, currentChildPosition);
                         }
 
-                        runOnUIThread(clickRunnable = new Runnable() {
-                            @Override
-                            public void run() {
-                                if (this == clickRunnable) {
-                                    clickRunnable = null;
-                                }
-
-                                if (view != null) {
-                                    view.setPressed(false);
-                                    if (!instantClick) {
-                                        view.playSoundEffect(SoundEffectConstants.CLICK);
-                                        if (onItemClickListener != null) {
-                                            onItemClickListener.onItemClick(view, currentChildPosition);
-                                        }
-                                    }
-                                }
-                            }
-                        }, ViewConfiguration.getPressedStateDuration());
+                        if (clickedView != null) {
+                            cancelRunOnUIThread(clickRunnable);
+                            clickRunnable.run();
+                        }
 
-                        if (selectChildRunnable != null) {
-                            cancelRunOnUIThread(selectChildRunnable);
-                            selectChildRunnable = null;
+                        clickedView = currentChildView;
+                        clickedPosition = currentChildPosition;
+                        runOnUIThread(clickRunnable, ViewConfiguration.getPressedStateDuration());
+
+                        if (selectChildPending) {
+                            cancelSelectChild();
                             currentChildView = null;
                             interceptedByChild = false;
                         }
@@ -198,7 +196,9 @@ public class RecyclerListView extends RecyclerView {
             int action = event.getActionMasked();
             boolean isScrollIdle = RecyclerListView.this.getScrollState() == RecyclerListView.SCROLL_STATE_IDLE;
 
-            if ((action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_POINTER_DOWN) && currentChildView == null && isScrollIdle) {
+            boolean isPinnedSectionTouched = sectionDecoration != null && sectionDecoration.isPinnedViewTouched(event.getX(), event.getY());
+
+            if ((action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_POINTER_DOWN) && currentChildView == null && isScrollIdle && !isPinnedSectionTouched) {
                 currentChildView = view.findChildViewUnder(event.getX(), event.getY());
                 if (currentChildView instanceof ViewGroup) {
                     ViewGroup viewGroup = (ViewGroup) currentChildView;
@@ -218,11 +218,13 @@ public class RecyclerListView extends RecyclerView {
                 currentChildPosition = -1;
                 if (currentChildView != null) {
                     currentChildPosition = view.getChildPosition(currentChildView);
-                    MotionEvent childEvent = MotionEvent.obtain(0, 0, event.getActionMasked(), event.getX() - currentChildView.getLeft(), event.getY() - currentChildView.getTop(), 0);
-                    if (currentChildView.onTouchEvent(childEvent)) {
+                    float offsetX = currentChildView.getLeft();
+                    float offsetY = currentChildView.getTop();
+                    event.offsetLocation(-offsetX, -offsetY);
+                    if (currentChildView.onTouchEvent(event)) {
                         interceptedByChild = true;
                     }
-                    childEvent.recycle();
+                    event.offsetLocation(offsetX, offsetY);
                 }
             }
 
@@ -238,23 +240,12 @@ public class RecyclerListView extends RecyclerView {
 
             if (action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_POINTER_DOWN) {
                 if (!interceptedByChild && currentChildView != null) {
-                    selectChildRunnable = new Runnable() {
-                        @Override
-                        public void run() {
-                            if (selectChildRunnable != null && currentChildView != null) {
-                                currentChildView.setPressed(true);
-                                selectChildRunnable = null;
-                            }
-                        }
-                    };
-
+                    cancelSelectChild();
+                    selectChildPending = true;
                     runOnUIThread(selectChildRunnable, ViewConfiguration.getTapTimeout());
                 }
             } else if (currentChildView != null && (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_POINTER_UP || action == MotionEvent.ACTION_CANCEL || !isScrollIdle)) {
-                if (selectChildRunnable != null) {
-                    cancelRunOnUIThread(selectChildRunnable);
-                    selectChildRunnable = null;
-                }
+                cancelSelectChild();
 
                 currentChildView.setPressed(false);
                 currentChildView = null;
@@ -273,11 +264,44 @@ public class RecyclerListView extends RecyclerView {
         }
     }
 
-    public void cancelClickRunnables(boolean uncheck) {
-        if (selectChildRunnable != null) {
+    private final Runnable selectChildRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (selectChildPending && currentChildView != null) {
+                currentChildView.setPressed(true);
+            }
+
+            selectChildPending = false;
+        }
+    };
+
+    private final Runnable clickRunnable = new Runnable() {
+        @Override
+        public void run() {
+            View view = clickedView;
+            clickedView = null;
+
+            if (view != null) {
+                view.setPressed(false);
+                if (!instantClick) {
+                    view.playSoundEffect(SoundEffectConstants.CLICK);
+                    if (onItemClickListener != null) {
+                        onItemClickListener.onItemClick(view, clickedPosition);
+                    }
+                }
+            }
+        }
+    };
+
+    private void cancelSelectChild() {
+        if (selectChildPending) {
             cancelRunOnUIThread(selectChildRunnable);
-            selectChildRunnable = null;
+            selectChildPending = false;
         }
+    }
+
+    public void cancelClickRunnables(boolean uncheck) {
+        cancelSelectChild();
 
         if (currentChildView != null) {
             if (uncheck) {
@@ -287,9 +311,9 @@ public class RecyclerListView extends RecyclerView {
             currentChildView = null;
         }
 
-        if (clickRunnable != null) {
+        if (clickedView != null) {
             cancelRunOnUIThread(clickRunnable);
-            clickRunnable = null;
+            clickedView = null;
         }
 
         interceptedByChild = false;
@@ -312,6 +336,7 @@ public class RecyclerListView extends RecyclerView {
         }
     };
 
+    @Deprecated
     public int[] getResourceDeclareStyleableIntArray(String packageName, String name) {
         try {
             Field f = Class.forName(packageName + ".R$styleable").getField(name);
@@ -327,9 +352,97 @@ public class RecyclerListView extends RecyclerView {
 
     @Override
     public void setVerticalScrollBarEnabled(boolean verticalScrollBarEnabled) {
-        if (attributes != null) {
-            super.setVerticalScrollBarEnabled(verticalScrollBarEnabled);
+        verticalScrollbarEnabled = verticalScrollBarEnabled;
+        invalidate();
+    }
+
+    // The framework scrollbar stays disabled, the custom one reports its own state.
+    @Override
+    public boolean isVerticalScrollBarEnabled() {
+        return verticalScrollbarEnabled;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        removeCallbacks(scrollbarFadeRunnable);
+        scrollbarAlpha = 0;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        super.draw(canvas);
+        drawScrollbar(canvas);
+    }
+
+    private void drawScrollbar(Canvas canvas) {
+        if (!verticalScrollbarEnabled || scrollbarThumb == null || scrollbarAlpha == 0) {
+            return;
+        }
+
+        int range = computeVerticalScrollRange();
+        int extent = computeVerticalScrollExtent();
+        if (extent <= 0 || range <= extent) {
+            return;
+        }
+
+        int top = getPaddingTop();
+        int trackHeight = getHeight() - top - getPaddingBottom();
+        int thumbLength = Math.max(scrollbarSize * 2, Math.round((float) trackHeight * extent / range));
+        int thumbOffset = Math.round((float) (trackHeight - thumbLength) * computeVerticalScrollOffset() / (range - extent));
+        int right = getWidth() - getPaddingRight();
+
+        scrollbarThumb.setBounds(right - scrollbarSize, top + thumbOffset, right, top + thumbOffset + thumbLength);
+        scrollbarThumb.setAlpha(scrollbarAlpha);
+        scrollbarThumb.draw(canvas);
+    }
+
+    private void awakenScrollbar() {
+        if (!verticalScrollbarEnabled || scrollbarThumb == null) {
+            return;
+        }
+
+        scrollbarAlpha = 255;
+        scrollbarFadeStartTime = 0;
+        removeCallbacks(scrollbarFadeRunnable);
+        postDelayed(scrollbarFadeRunnable, ViewConfiguration.getScrollDefaultDelay());
+        invalidate();
+    }
+
+    private final Runnable scrollbarFadeRunnable = new Runnable() {
+        @Override
+        public void run() {
+            long now = SystemClock.uptimeMillis();
+            if (scrollbarFadeStartTime == 0) {
+                scrollbarFadeStartTime = now;
+            }
+
+            float fraction = (now - scrollbarFadeStartTime) / (float) ViewConfiguration.getScrollBarFadeDuration();
+            scrollbarAlpha = fraction >= 1F ? 0 : Math.round(255 * (1F - fraction));
+            invalidate();
+
+            if (scrollbarAlpha > 0) {
+                postOnAnimation(this);
+            }
         }
+    };
+
+    private static Drawable obtainScrollbarThumb(Context context) {
+        Resources.Theme theme = context.getTheme();
+        Drawable.ConstantState state;
+
+        synchronized (scrollbarThumbs) {
+            state = scrollbarThumbs.get(theme);
+            if (state == null && !scrollbarThumbs.containsKey(theme)) {
+                TypedArray typedArray = theme.obtainStyledAttributes(SCROLLBAR_ATTRS);
+                Drawable thumb = typedArray.getDrawable(0);
+                typedArray.recycle();
+                state = thumb != null ? thumb.getConstantState() : null;
+                scrollbarThumbs.put(theme, state);
+            }
+        }
+
+        return state != null ? state.newDrawable(context.getResources()).mutate() : null;
     }
 
     public void setOnItemClickListener(OnItemClickListener listener) {
@@ -353,6 +466,10 @@ public class RecyclerListView extends RecyclerView {
         return emptyView;
     }
 
+    void setSectionDecoration(SectionItemDecoration decoration) {
+        sectionDecoration = decoration;
+    }
+
     public void invalidateViews() {
         int count = getChildCount();
         for (int a = 0; a < count; a++) {
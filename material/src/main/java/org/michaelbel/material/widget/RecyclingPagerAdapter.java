@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.support.annotation.StringRes;
+import android.support.v4.view.PagerAdapter;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("all")
+public class RecyclingPagerAdapter extends PagerAdapter {
+
+    public interface PageFactory {
+        View onCreateView(ViewGroup container);
+        void onBindView(View view, int position);
+    }
+
+    private static final int MAX_POOL_SIZE = 2;
+
+    private Context context;
+    private List<PageFactory> factories = new ArrayList<>();
+    private List<PageFactory> viewTypes = new ArrayList<>();
+    private List<CharSequence> titles = new ArrayList<>();
+    private SparseArray<List<FrameLayout>> pool = new SparseArray<>();
+
+    public RecyclingPagerAdapter(Context context) {
+        this.context = context;
+    }
+
+    public void addPage(PageFactory factory, CharSequence title) {
+        factories.add(factory);
+        titles.add(title);
+
+        if (!viewTypes.contains(factory)) {
+            viewTypes.add(factory);
+        }
+    }
+
+    public void addPage(PageFactory factory, @StringRes int stringId) {
+        addPage(factory, context.getText(stringId));
+    }
+
+    @Override
+    public CharSequence getPageTitle(int position) {
+        return titles.get(position);
+    }
+
+    @Override
+    public int getCount() {
+        return factories.size();
+    }
+
+    @Override
+    public boolean isViewFromObject(View view, Object object) {
+        return view == object;
+    }
+
+    @Override
+    public Object instantiateItem(ViewGroup container, int position) {
+        PageFactory factory = factories.get(position);
+        int viewType = viewTypes.indexOf(factory);
+
+        FrameLayout layout = null;
+        List<FrameLayout> scrap = pool.get(viewType);
+        if (scrap != null && !scrap.isEmpty()) {
+            layout = scrap.remove(scrap.size() - 1);
+        }
+
+        if (layout == null) {
+            layout = new FrameLayout(context);
+            layout.addView(factory.onCreateView(layout));
+            layout.setTag(viewType);
+        }
+
+        factory.onBindView(layout.getChildAt(0), position);
+        container.addView(layout);
+        return layout;
+    }
+
+    @Override
+    public void destroyItem(ViewGroup container, int position, Object object) {
+        FrameLayout layout = (FrameLayout) object;
+        container.removeView(layout);
+
+        int viewType = (Integer) layout.getTag();
+        List<FrameLayout> scrap = pool.get(viewType);
+        if (scrap == null) {
+            scrap = new ArrayList<>(MAX_POOL_SIZE);
+            pool.put(viewType, scrap);
+        }
+
+        if (scrap.size() < MAX_POOL_SIZE) {
+            scrap.add(layout);
+        }
+    }
+}
\ No newline at end of file
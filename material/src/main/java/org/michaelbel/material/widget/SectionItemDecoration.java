@@ -0,0 +1,412 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.graphics.Canvas;
+import android.graphics.drawable.GradientDrawable.Orientation;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.Arrays;
+
+@SuppressWarnings("all")
+public class SectionItemDecoration extends RecyclerView.ItemDecoration {
+
+    public interface PinnedSectionAdapter {
+        boolean isItemViewTypePinned(int viewType);
+    }
+
+    public interface OnSectionClickListener {
+        void onSectionClick(View view, int position);
+    }
+
+    private static final int[] SHADOW_COLORS = new int[] { 0xFFA0A0A0, 0x50A0A0A0, 0x00A0A0A0 };
+
+    private final SparseArray<RecyclerView.ViewHolder> mPinnedHolders = new SparseArray<>();
+
+    private RecyclerView mRecyclerView;
+    private RecyclerView.Adapter mAdapter;
+    private OnSectionClickListener mOnSectionClickListener;
+
+    private ShadowRenderer mShadowRenderer;
+    private boolean mShadowVisible;
+    private int mSectionsDistanceY;
+    private int mShadowHeight;
+
+    private RecyclerView.ViewHolder mPinnedHolder;
+    private int mPinnedPosition = RecyclerView.NO_POSITION;
+    private int mPinnedWidth;
+    private int mTranslateY;
+
+    private int[] mSectionPositions = new int[16];
+    private int mSectionCount;
+    private boolean mSectionIndexValid;
+
+    private int mTouchSlop;
+    private float mDownX;
+    private float mDownY;
+    private boolean mDownOnPinnedView;
+
+    private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            invalidateSections();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            onItemsChanged(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            invalidateSections();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            invalidateSections();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            invalidateSections();
+        }
+    };
+
+    private final RecyclerView.OnItemTouchListener mTouchListener = new RecyclerView.OnItemTouchListener() {
+        @Override
+        public boolean onInterceptTouchEvent(RecyclerView view, MotionEvent event) {
+            float x = event.getX();
+            float y = event.getY();
+
+            switch (event.getActionMasked()) {
+                case MotionEvent.ACTION_DOWN:
+                    mDownOnPinnedView = view.getScrollState() == RecyclerView.SCROLL_STATE_IDLE && isPinnedViewTouched(x, y);
+                    mDownX = x;
+                    mDownY = y;
+                    break;
+                case MotionEvent.ACTION_MOVE:
+                    if (mDownOnPinnedView && (Math.abs(x - mDownX) > mTouchSlop || Math.abs(y - mDownY) > mTouchSlop)) {
+                        mDownOnPinnedView = false;
+                    }
+                    break;
+                case MotionEvent.ACTION_UP:
+                    if (mDownOnPinnedView && isPinnedViewTouched(x, y)) {
+                        mDownOnPinnedView = false;
+                        performSectionClick();
+                        return true;
+                    }
+                    mDownOnPinnedView = false;
+                    break;
+                case MotionEvent.ACTION_CANCEL:
+                    mDownOnPinnedView = false;
+                    break;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void onTouchEvent(RecyclerView view, MotionEvent event) {}
+
+        @Override
+        public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+            mDownOnPinnedView = false;
+        }
+    };
+
+    public void attachToRecyclerView(RecyclerView recyclerView) {
+        if (mRecyclerView == recyclerView) {
+            return;
+        }
+
+        if (mRecyclerView != null) {
+            mRecyclerView.removeItemDecoration(this);
+            mRecyclerView.removeOnItemTouchListener(mTouchListener);
+
+            if (mRecyclerView instanceof RecyclerListView) {
+                ((RecyclerListView) mRecyclerView).setSectionDecoration(null);
+            }
+        }
+
+        setAdapter(null);
+        mRecyclerView = recyclerView;
+
+        if (recyclerView != null) {
+            mTouchSlop = ViewConfiguration.get(recyclerView.getContext()).getScaledTouchSlop();
+            mShadowHeight = (int) (8 * recyclerView.getResources().getDisplayMetrics().density);
+            updateShadowRenderer();
+            recyclerView.addItemDecoration(this);
+            recyclerView.addOnItemTouchListener(mTouchListener);
+
+            if (recyclerView instanceof RecyclerListView) {
+                ((RecyclerListView) recyclerView).setSectionDecoration(this);
+            }
+        }
+    }
+
+    public void setShadowVisible(boolean visible) {
+        mShadowVisible = visible;
+        updateShadowRenderer();
+
+        if (mRecyclerView != null) {
+            mRecyclerView.invalidate();
+        }
+    }
+
+    private void updateShadowRenderer() {
+        mShadowRenderer = mShadowVisible && mShadowHeight > 0 ? ShadowRenderer.obtain(SHADOW_COLORS, mShadowHeight, Orientation.TOP_BOTTOM) : null;
+    }
+
+    public void setOnSectionClickListener(OnSectionClickListener listener) {
+        mOnSectionClickListener = listener;
+    }
+
+    public int getPinnedSectionPosition() {
+        return mPinnedHolder != null ? mPinnedPosition : RecyclerView.NO_POSITION;
+    }
+
+    @Override
+    public void onDrawOver(Canvas canvas, RecyclerView parent, RecyclerView.State state) {
+        updatePinnedSection(parent);
+
+        if (mPinnedHolder == null) {
+            return;
+        }
+
+        int pLeft = parent.getPaddingLeft();
+        int pTop = parent.getPaddingTop();
+        View view = mPinnedHolder.itemView;
+
+        canvas.save();
+        int clipHeight = view.getHeight() + (mShadowRenderer == null ? 0 : Math.min(mShadowHeight, mSectionsDistanceY));
+        canvas.clipRect(pLeft, pTop, pLeft + view.getWidth(), pTop + clipHeight);
+        canvas.translate(pLeft, pTop + mTranslateY);
+        view.draw(canvas);
+
+        if (mShadowRenderer != null && mSectionsDistanceY > 0) {
+            mShadowRenderer.draw(canvas, view.getLeft(), view.getBottom(), view.getWidth());
+        }
+
+        canvas.restore();
+    }
+
+    boolean isPinnedViewTouched(float x, float y) {
+        if (mPinnedHolder == null || mRecyclerView == null) {
+            return false;
+        }
+
+        View view = mPinnedHolder.itemView;
+        int left = mRecyclerView.getPaddingLeft();
+        int top = mRecyclerView.getPaddingTop() + mTranslateY;
+        return x >= left && x < left + view.getWidth() && y >= top && y < top + view.getHeight();
+    }
+
+    private void performSectionClick() {
+        if (mPinnedHolder == null) {
+            return;
+        }
+
+        View view = mPinnedHolder.itemView;
+        if (mOnSectionClickListener != null) {
+            view.playSoundEffect(SoundEffectConstants.CLICK);
+            view.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_CLICKED);
+            mOnSectionClickListener.onSectionClick(view, mPinnedPosition);
+        }
+    }
+
+    private void setAdapter(RecyclerView.Adapter adapter) {
+        if (mAdapter == adapter) {
+            return;
+        }
+
+        if (adapter != null && !(adapter instanceof PinnedSectionAdapter)) {
+            throw new IllegalArgumentException("Does your adapter implement PinnedSectionAdapter?");
+        }
+
+        if (mAdapter != null) {
+            mAdapter.unregisterAdapterDataObserver(mDataObserver);
+        }
+
+        mAdapter = adapter;
+        mPinnedHolders.clear();
+        destroyPinnedSection();
+        invalidateSections();
+
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(mDataObserver);
+        }
+    }
+
+    private void updatePinnedSection(RecyclerView parent) {
+        setAdapter(parent.getAdapter());
+
+        if (mAdapter == null || parent.getChildCount() < 2) {
+            destroyPinnedSection();
+            return;
+        }
+
+        View firstView = parent.getChildAt(0);
+        int firstPosition = parent.getChildAdapterPosition(firstView);
+        if (firstPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int sectionPosition;
+        if (isPinned(firstPosition)) {
+            if (firstView.getTop() == parent.getPaddingTop()) {
+                destroyPinnedSection();
+                return;
+            }
+            sectionPosition = firstPosition;
+        } else {
+            sectionPosition = findCurrentSectionPosition(firstPosition);
+            if (sectionPosition == -1) {
+                destroyPinnedSection();
+                return;
+            }
+        }
+
+        ensurePinnedSection(parent, sectionPosition);
+
+        mTranslateY = 0;
+        mSectionsDistanceY = Integer.MAX_VALUE;
+
+        int bottom = mPinnedHolder.itemView.getBottom() + parent.getPaddingTop();
+        int count = parent.getChildCount();
+        for (int i = 1; i < count; i++) {
+            View child = parent.getChildAt(i);
+            int position = parent.getChildAdapterPosition(child);
+            if (position > sectionPosition && isPinned(position)) {
+                mSectionsDistanceY = child.getTop() - bottom;
+                if (mSectionsDistanceY < 0) {
+                    mTranslateY = mSectionsDistanceY;
+                }
+                break;
+            }
+        }
+    }
+
+    private void ensurePinnedSection(RecyclerView parent, int sectionPosition) {
+        int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+        if (mPinnedHolder != null && mPinnedPosition == sectionPosition && mPinnedWidth == width) {
+            return;
+        }
+
+        int viewType = mAdapter.getItemViewType(sectionPosition);
+        RecyclerView.ViewHolder holder = mPinnedHolders.get(viewType);
+        if (holder == null) {
+            holder = mAdapter.createViewHolder(parent, viewType);
+            mPinnedHolders.put(viewType, holder);
+        }
+
+        mAdapter.bindViewHolder(holder, sectionPosition);
+        View pinnedView = holder.itemView;
+
+        ViewGroup.LayoutParams layoutParams = pinnedView.getLayoutParams();
+        if (layoutParams == null) {
+            layoutParams = new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            pinnedView.setLayoutParams(layoutParams);
+        }
+
+        int maxHeight = parent.getHeight() - parent.getPaddingTop() - parent.getPaddingBottom();
+        int ws = View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY);
+        int hs = ViewGroup.getChildMeasureSpec(View.MeasureSpec.makeMeasureSpec(maxHeight, View.MeasureSpec.AT_MOST), 0, layoutParams.height);
+        pinnedView.measure(ws, hs);
+        pinnedView.layout(0, 0, pinnedView.getMeasuredWidth(), pinnedView.getMeasuredHeight());
+
+        mPinnedHolder = holder;
+        mPinnedPosition = sectionPosition;
+        mPinnedWidth = width;
+    }
+
+    private void destroyPinnedSection() {
+        mPinnedHolder = null;
+        mPinnedPosition = RecyclerView.NO_POSITION;
+        mTranslateY = 0;
+    }
+
+    private boolean isPinned(int position) {
+        return ((PinnedSectionAdapter) mAdapter).isItemViewTypePinned(mAdapter.getItemViewType(position));
+    }
+
+    private int findCurrentSectionPosition(int fromPosition) {
+        if (fromPosition >= mAdapter.getItemCount()) {
+            return -1;
+        }
+
+        ensureSectionIndex();
+        int index = Arrays.binarySearch(mSectionPositions, 0, mSectionCount, fromPosition);
+        if (index >= 0) {
+            return mSectionPositions[index];
+        }
+
+        index = -index - 2;
+        return index >= 0 ? mSectionPositions[index] : -1;
+    }
+
+    private void ensureSectionIndex() {
+        if (mSectionIndexValid) {
+            return;
+        }
+
+        mSectionCount = 0;
+        int count = mAdapter.getItemCount();
+        for (int position = 0; position < count; position++) {
+            if (isPinned(position)) {
+                if (mSectionCount == mSectionPositions.length) {
+                    mSectionPositions = Arrays.copyOf(mSectionPositions, mSectionCount * 2);
+                }
+                mSectionPositions[mSectionCount++] = position;
+            }
+        }
+
+        mSectionIndexValid = true;
+    }
+
+    // Changed items keep their positions, so only an item whose pinned state flipped moves a section boundary.
+    private void onItemsChanged(int positionStart, int itemCount) {
+        if (mPinnedPosition >= positionStart && mPinnedPosition < positionStart + itemCount) {
+            mPinnedPosition = RecyclerView.NO_POSITION;
+        }
+
+        if (!mSectionIndexValid) {
+            return;
+        }
+
+        int end = Math.min(positionStart + itemCount, mAdapter.getItemCount());
+        for (int position = positionStart; position < end; position++) {
+            boolean indexed = Arrays.binarySearch(mSectionPositions, 0, mSectionCount, position) >= 0;
+            if (indexed != isPinned(position)) {
+                mSectionIndexValid = false;
+                return;
+            }
+        }
+    }
+
+    private void invalidateSections() {
+        mSectionIndexValid = false;
+        mPinnedPosition = RecyclerView.NO_POSITION;
+    }
+}
\ No newline at end of file
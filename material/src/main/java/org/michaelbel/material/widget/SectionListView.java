@@ -3,13 +3,12 @@ package org.michaelbel.material.widget;
 import android.content.Context;
 import android.database.DataSetObserver;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.PointF;
 import android.graphics.Rect;
-import android.graphics.drawable.GradientDrawable;
 import android.graphics.drawable.GradientDrawable.Orientation;
 import android.os.Parcelable;
 import android.util.AttributeSet;
+import android.util.SparseArray;
 import android.view.MotionEvent;
 import android.view.SoundEffectConstants;
 import android.view.View;
@@ -22,6 +21,8 @@ import android.widget.ListAdapter;
 import android.widget.ListView;
 import android.widget.SectionIndexer;
 
+import java.util.Arrays;
+
 @SuppressWarnings("all")
 public class SectionListView extends ListView {
 
@@ -33,6 +34,9 @@ public class SectionListView extends ListView {
 		public View view;
 		public int position;
 		public long id;
+		public int viewType;
+		int widthMeasureSpec;
+		int heightMeasureSpec;
 	}
 
     private final Rect mTouchRect = new Rect();
@@ -41,15 +45,21 @@ public class SectionListView extends ListView {
     private View mTouchTarget;
     private MotionEvent mDownEvent;
 
-    private GradientDrawable mShadowDrawable;
+    private static final int[] SHADOW_COLORS = new int[] { 0xFFA0A0A0, 0x50A0A0A0, 0x00A0A0A0 };
+
+    private ShadowRenderer mShadowRenderer;
     private int mSectionsDistanceY;
     private int mShadowHeight;
 
     private OnScrollListener mDelegateOnScrollListener;
-    private PinnedSection mRecycleSection;
+    private final SparseArray<PinnedSection> mRecycleSections = new SparseArray<>();
     private PinnedSection mPinnedSection;
     private int mTranslateY;
 
+    private int[] mSectionPositions = new int[16];
+    private int mSectionCount;
+    private int mSectionIndexItemCount = -1;
+
 	private final OnScrollListener mOnScrollListener = new OnScrollListener() {
 
 		@Override
@@ -93,11 +103,13 @@ public class SectionListView extends ListView {
 
         @Override
         public void onChanged() {
+            invalidateSectionIndex();
             recreatePinnedShadow();
         }
 
         @Override
         public void onInvalidated() {
+            invalidateSectionIndex();
             recreatePinnedShadow();
         }
     };
@@ -134,28 +146,31 @@ public class SectionListView extends ListView {
 
     public void initShadow(boolean visible) {
         if (visible) {
-            if (mShadowDrawable == null) {
-                mShadowDrawable = new GradientDrawable(Orientation.TOP_BOTTOM,
-                        new int[] { Color.parseColor("#ffa0a0a0"), Color.parseColor("#50a0a0a0"), Color.parseColor("#00a0a0a0")});
+            if (mShadowRenderer == null) {
                 mShadowHeight = (int) (8 * getResources().getDisplayMetrics().density);
+                mShadowRenderer = ShadowRenderer.obtain(SHADOW_COLORS, mShadowHeight, Orientation.TOP_BOTTOM);
             }
         } else {
-            if (mShadowDrawable != null) {
-                mShadowDrawable = null;
+            if (mShadowRenderer != null) {
+                mShadowRenderer = null;
                 mShadowHeight = 0;
             }
         }
     }
 
 	private void createPinnedShadow(int position) {
-		PinnedSection pinnedShadow = mRecycleSection;
-		mRecycleSection = null;
+		ListAdapter adapter = getAdapter();
+		int viewType = adapter.getItemViewType(position);
+		PinnedSection pinnedShadow = mRecycleSections.get(viewType);
 
 		if (pinnedShadow == null) {
             pinnedShadow = new PinnedSection();
+        } else {
+            mRecycleSections.remove(viewType);
         }
 
-		View pinnedView = getAdapter().getView(position, pinnedShadow.view, SectionListView.this);
+		View convertView = pinnedShadow.view;
+		View pinnedView = adapter.getView(position, convertView, SectionListView.this);
 
 		ViewGroup.LayoutParams layoutParams = pinnedView.getLayoutParams();
 		if (layoutParams == null) {
@@ -173,20 +188,28 @@ public class SectionListView extends ListView {
 
 		int ws = MeasureSpec.makeMeasureSpec(getWidth() - getListPaddingLeft() - getListPaddingRight(), MeasureSpec.EXACTLY);
 		int hs = MeasureSpec.makeMeasureSpec(heightSize, heightMode);
-		pinnedView.measure(ws, hs);
-		pinnedView.layout(0, 0, pinnedView.getMeasuredWidth(), pinnedView.getMeasuredHeight());
+
+		// A rebound view that asked for no layout and gets the same specs keeps its size.
+		if (pinnedView != convertView || pinnedView.isLayoutRequested()
+				|| ws != pinnedShadow.widthMeasureSpec || hs != pinnedShadow.heightMeasureSpec) {
+			pinnedView.measure(ws, hs);
+			pinnedView.layout(0, 0, pinnedView.getMeasuredWidth(), pinnedView.getMeasuredHeight());
+			pinnedShadow.widthMeasureSpec = ws;
+			pinnedShadow.heightMeasureSpec = hs;
+		}
 		mTranslateY = 0;
 
 		pinnedShadow.view = pinnedView;
 		pinnedShadow.position = position;
-		pinnedShadow.id = getAdapter().getItemId(position);
+		pinnedShadow.id = adapter.getItemId(position);
+		pinnedShadow.viewType = viewType;
 
 		mPinnedSection = pinnedShadow;
 	}
 
 	private void destroyPinnedShadow() {
 	    if (mPinnedSection != null) {
-	        mRecycleSection = mPinnedSection;
+	        mRecycleSections.put(mPinnedSection.viewType, mPinnedSection);
 	        mPinnedSection = null;
 	    }
 	}
@@ -265,14 +288,38 @@ public class SectionListView extends ListView {
 			}
 		}
 
-		for (int position=fromPosition; position>=0; position--) {
+		ensureSectionIndex(adapter);
+		int index = Arrays.binarySearch(mSectionPositions, 0, mSectionCount, fromPosition);
+		if (index >= 0) {
+			return mSectionPositions[index];
+		}
+
+		index = -index - 2;
+		return index >= 0 ? mSectionPositions[index] : -1;
+	}
+
+	private void ensureSectionIndex(ListAdapter adapter) {
+		int count = adapter.getCount();
+		if (mSectionIndexItemCount == count) {
+			return;
+		}
+
+		mSectionCount = 0;
+		for (int position = 0; position < count; position++) {
 			int viewType = adapter.getItemViewType(position);
 			if (isItemViewTypePinned(adapter, viewType)) {
-                return position;
-            }
+				if (mSectionCount == mSectionPositions.length) {
+					mSectionPositions = Arrays.copyOf(mSectionPositions, mSectionCount * 2);
+				}
+				mSectionPositions[mSectionCount++] = position;
+			}
 		}
 
-		return -1;
+		mSectionIndexItemCount = count;
+	}
+
+	private void invalidateSectionIndex() {
+		mSectionIndexItemCount = -1;
 	}
 
 	private void recreatePinnedShadow() {
@@ -331,6 +378,8 @@ public class SectionListView extends ListView {
         }
 		if (oldAdapter != adapter) {
             destroyPinnedShadow();
+            mRecycleSections.clear();
+            invalidateSectionIndex();
         }
 
 		super.setAdapter(adapter);
@@ -357,17 +406,13 @@ public class SectionListView extends ListView {
 			int pTop = getListPaddingTop();
 			View view = mPinnedSection.view;
 			canvas.save();
-			int clipHeight = view.getHeight() + (mShadowDrawable == null ? 0 : Math.min(mShadowHeight, mSectionsDistanceY));
+			int clipHeight = view.getHeight() + (mShadowRenderer == null ? 0 : Math.min(mShadowHeight, mSectionsDistanceY));
 			canvas.clipRect(pLeft, pTop, pLeft + view.getWidth(), pTop + clipHeight);
 			canvas.translate(pLeft, pTop + mTranslateY);
 			drawChild(canvas, mPinnedSection.view, getDrawingTime());
 
-			if (mShadowDrawable != null && mSectionsDistanceY > 0) {
-			    mShadowDrawable.setBounds(mPinnedSection.view.getLeft(),
-			            mPinnedSection.view.getBottom(),
-			            mPinnedSection.view.getRight(),
-			            mPinnedSection.view.getBottom() + mShadowHeight);
-			    mShadowDrawable.draw(canvas);
+			if (mShadowRenderer != null && mSectionsDistanceY > 0) {
+			    mShadowRenderer.draw(canvas, view.getLeft(), view.getBottom(), view.getWidth());
 			}
 
 			canvas.restore();
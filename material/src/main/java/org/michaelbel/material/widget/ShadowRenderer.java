@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.graphics.Canvas;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.graphics.drawable.GradientDrawable.Orientation;
+import android.support.annotation.NonNull;
+import android.util.LruCache;
+
+import java.util.Arrays;
+
+@SuppressWarnings("all")
+public final class ShadowRenderer {
+
+    private static final int CACHE_SIZE = 16;
+
+    private static final LruCache<Key, ShadowRenderer> sCache = new LruCache<>(CACHE_SIZE);
+
+    private final Paint mPaint;
+    private final int mSize;
+    private final boolean mVertical;
+
+    private ShadowRenderer(int[] colors, int size, Orientation orientation) {
+        mSize = size;
+        mVertical = orientation == Orientation.TOP_BOTTOM || orientation == Orientation.BOTTOM_TOP;
+
+        float x0 = 0, y0 = 0, x1 = 0, y1 = 0;
+        switch (orientation) {
+            case TOP_BOTTOM:
+                y1 = size;
+                break;
+            case BOTTOM_TOP:
+                y0 = size;
+                break;
+            case LEFT_RIGHT:
+                x1 = size;
+                break;
+            case RIGHT_LEFT:
+                x0 = size;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported shadow orientation: " + orientation);
+        }
+
+        mPaint = new Paint();
+        mPaint.setShader(new LinearGradient(x0, y0, x1, y1, colors, null, Shader.TileMode.CLAMP));
+    }
+
+    public static ShadowRenderer obtain(@NonNull int[] colors, int size, @NonNull Orientation orientation) {
+        Key key = new Key(colors, size, orientation);
+        ShadowRenderer renderer = sCache.get(key);
+
+        if (renderer == null) {
+            renderer = new ShadowRenderer(key.mColors, size, orientation);
+            sCache.put(key, renderer);
+        }
+
+        return renderer;
+    }
+
+    public int getSize() {
+        return mSize;
+    }
+
+    /**
+     * Draws the shadow with its gradient starting at (x, y) and running for {@code length}
+     * pixels across the gradient direction.
+     */
+    public void draw(Canvas canvas, float x, float y, float length) {
+        int saveCount = canvas.save();
+        canvas.translate(x, y);
+
+        if (mVertical) {
+            canvas.drawRect(0, 0, length, mSize, mPaint);
+        } else {
+            canvas.drawRect(0, 0, mSize, length, mPaint);
+        }
+
+        canvas.restoreToCount(saveCount);
+    }
+
+    private static final class Key {
+
+        private final int[] mColors;
+        private final int mSize;
+        private final Orientation mOrientation;
+
+        Key(int[] colors, int size, Orientation orientation) {
+            mColors = colors.clone();
+            mSize = size;
+            mOrientation = orientation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return mSize == key.mSize && mOrientation == key.mOrientation && Arrays.equals(mColors, key.mColors);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Arrays.hashCode(mColors);
+            result = 31 * result + mSize;
+            result = 31 * result + mOrientation.hashCode();
+            return result;
+        }
+    }
+}
\ No newline at end of file
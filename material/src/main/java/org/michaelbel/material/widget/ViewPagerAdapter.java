@@ -63,8 +63,15 @@ public class ViewPagerAdapter extends PagerAdapter {
 
     @Override
     public Object instantiateItem(ViewGroup container, int position) {
-        FrameLayout layout = new FrameLayout(context);
-        layout.addView(layouts.get(position));
+        View view = layouts.get(position);
+        FrameLayout layout;
+
+        if (view.getParent() instanceof FrameLayout) {
+            layout = (FrameLayout) view.getParent();
+        } else {
+            layout = new FrameLayout(context);
+            layout.addView(view);
+        }
 
         container.addView(layout);
         return layout;
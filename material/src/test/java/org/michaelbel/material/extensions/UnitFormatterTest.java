@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.extensions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("all")
+public class UnitFormatterTest {
+
+    private static final long[] EDGE_SIZES = new long[] {
+        0, 1, 1023, 1024, 1075, 1126, 10188, 1048575, 1048576, 1073741823, 1L << 40, 1L << 50, 1L << 60, Long.MAX_VALUE, -1, -1024
+    };
+
+    private Locale mDefaultLocale;
+
+    @Before
+    public void setUp() {
+        mDefaultLocale = Locale.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(mDefaultLocale);
+    }
+
+    @Test
+    public void formatSizeMatchesStringFormat() {
+        Locale[] locales = new Locale[] {
+            Locale.US, Locale.GERMANY, new Locale("ar", "EG")
+        };
+
+        for (Locale locale : locales) {
+            Locale.setDefault(locale);
+
+            for (long size : EDGE_SIZES) {
+                assertSize(size);
+            }
+
+            Random random = new Random(1);
+            for (int i = 0; i < 50000; i++) {
+                int bits = random.nextInt(64);
+                assertSize(bits == 0 ? 0 : random.nextLong() >>> (64 - bits));
+            }
+        }
+    }
+
+    @Test
+    public void formatSizeIntoCharArray() {
+        Locale.setDefault(Locale.US);
+        char[] buffer = new char[32];
+        int length = UnitFormatter.formatSize(1536, buffer, 2);
+        assertEquals("1.5 KB", new String(buffer, 2, length));
+    }
+
+    @Test
+    public void formatSizeAppendsToBuilder() {
+        Locale.setDefault(Locale.US);
+        StringBuilder builder = new StringBuilder("Size: ");
+        assertEquals("Size: 2.0 MB", UnitFormatter.formatSize(2 * 1024 * 1024, builder).toString());
+    }
+
+    @Test
+    public void formatCount() {
+        Locale.setDefault(Locale.US);
+        assertEquals("999", count(999));
+        assertEquals("1.0K", count(1000));
+        assertEquals("1.2K", count(1234));
+        assertEquals("1.3K", count(1250));
+        assertEquals("999.9K", count(999949));
+        assertEquals("1.0M", count(999950));
+        assertEquals("1.5M", count(1500000));
+        assertEquals("9.2E", count(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void formatDuration() {
+        Locale.setDefault(Locale.US);
+        assertEquals("0:00", duration(0));
+        assertEquals("0:00", duration(-5000));
+        assertEquals("0:05", duration(5999));
+        assertEquals("1:05", duration(65000));
+        assertEquals("59:59", duration(3599000));
+        assertEquals("1:00:00", duration(3600000));
+        assertEquals("10:02:05", duration(36125000));
+    }
+
+    private static void assertSize(long size) {
+        assertEquals(legacyFormatSize(size), UnitFormatter.formatSize(size, new StringBuilder()).toString());
+    }
+
+    private static String count(long count) {
+        return UnitFormatter.formatCount(count, new StringBuilder()).toString();
+    }
+
+    private static String duration(long millis) {
+        return UnitFormatter.formatDuration(millis, new StringBuilder()).toString();
+    }
+
+    // The String.format based implementation UnitFormatter replaced.
+    private static String legacyFormatSize(long size) {
+        if (size < 1024) {
+            return String.format(Locale.getDefault(), "%d B", size);
+        } else if (size < Math.pow(1024, 2)) {
+            return String.format(Locale.getDefault(), "%.1f KB", size / 1024.0F);
+        } else if (size < Math.pow(1024, 3)) {
+            return String.format(Locale.getDefault(), "%.1f MB", size / Math.pow(1024.0F, 2));
+        } else if (size < Math.pow(1024, 4)) {
+            return String.format(Locale.getDefault(), "%.1f GB", size / Math.pow(1024.0F, 3));
+        } else if (size < Math.pow(1024, 5)) {
+            return String.format(Locale.getDefault(), "%.1f TB", size / Math.pow(1024.0F, 4));
+        } else if (size < Math.pow(1024, 6)) {
+            return String.format(Locale.getDefault(), "%.1f PB", size / Math.pow(1024.0F, 5));
+        } else {
+            return String.format(Locale.getDefault(), "%.1f EB", size / Math.pow(1024.0F, 6));
+        }
+    }
+}
\ No newline at end of file
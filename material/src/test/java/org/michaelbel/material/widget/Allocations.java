@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+@SuppressWarnings("all")
+final class Allocations {
+
+    private static final ThreadMXBean sThreadBean = ManagementFactory.getThreadMXBean();
+
+    private Allocations() {
+    }
+
+    static boolean isSupported() {
+        return sThreadBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) sThreadBean).isThreadAllocatedMemorySupported();
+    }
+
+    // Runs the block once to load classes and fill caches, then returns the bytes the second run allocated.
+    static long measure(Runnable block) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) sThreadBean;
+        bean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        block.run();
+
+        // The counter itself may allocate, so its own cost is taken off the result.
+        long start = bean.getThreadAllocatedBytes(threadId);
+        long overhead = bean.getThreadAllocatedBytes(threadId) - start;
+
+        start = bean.getThreadAllocatedBytes(threadId);
+        block.run();
+        return bean.getThreadAllocatedBytes(threadId) - start - overhead;
+    }
+}
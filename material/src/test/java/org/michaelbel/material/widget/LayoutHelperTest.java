@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.RelativeLayout;
+import android.widget.ScrollView;
+
+import org.junit.Test;
+import org.michaelbel.material.extensions.Extensions;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("all")
+public class LayoutHelperTest {
+
+    private static final float[] DENSITIES = new float[] {
+        0.75f, 1.0f, 1.5f, 2.0f, 2.625f, 2.75f, 3.0f, 3.5f, 4.0f
+    };
+
+    private static final float[] FRACTIONAL_VALUES = new float[] {
+        0.5f, 1.25f, 7.7f, 255.5f, 256f, 300f, 1000.5f
+    };
+
+    private static final int[][] SIZES = new int[][] {
+        { LayoutHelper.MATCH_PARENT, LayoutHelper.WRAP_CONTENT }, { 48, 48 }, { 100, LayoutHelper.MATCH_PARENT }, { 300, 56 }
+    };
+
+    private static final int GRAVITY = Gravity.CENTER_VERTICAL | Gravity.START;
+    private static final float WEIGHT = 1.5f;
+    private static final float[] MARGINS = new float[] { 16, 8.5f, 0, 300 };
+
+    @Test
+    public void builderDpMatchesExtensionsDp() {
+        for (float density : DENSITIES) {
+            Context context = contextWithDensity(density);
+            LayoutHelper.Builder builder = new LayoutHelper.Builder(context);
+
+            for (int value = 0; value <= 512; value++) {
+                assertEquals("density " + density + ", dp " + value, Extensions.dp(context, value), builder.dp(value));
+            }
+
+            for (float value : FRACTIONAL_VALUES) {
+                assertEquals("density " + density + ", dp " + value, Extensions.dp(context, value), builder.dp(value));
+            }
+        }
+    }
+
+    @Test
+    public void builderKeepsSpecialSizes() {
+        LayoutHelper.Builder builder = new LayoutHelper.Builder(contextWithDensity(3.0f));
+
+        assertEquals(LayoutHelper.MATCH_PARENT, builder.dp(LayoutHelper.MATCH_PARENT));
+        assertEquals(LayoutHelper.WRAP_CONTENT, builder.dp(LayoutHelper.WRAP_CONTENT));
+    }
+
+    @Test
+    public void builderMatchesMakeScroll() {
+        for (float density : DENSITIES) {
+            Context context = contextWithDensity(density);
+            LayoutHelper.Builder builder = new LayoutHelper.Builder(context);
+
+            for (int[] size : SIZES) {
+                int w = size[0];
+                int h = size[1];
+
+                assertSameFrame(LayoutHelper.makeScroll(context, w, h), builder.setSize(w, h).buildScroll());
+                assertSameFrame(LayoutHelper.makeScroll(context, w, h, GRAVITY), builder.setSize(w, h).setGravity(GRAVITY).buildScroll());
+                assertSameFrame(LayoutHelper.makeScroll(context, w, h, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildScroll());
+                assertSameFrame(LayoutHelper.makeScroll(context, w, h, GRAVITY, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setGravity(GRAVITY).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildScroll());
+            }
+        }
+    }
+
+    @Test
+    public void builderMatchesMakeFrame() {
+        for (float density : DENSITIES) {
+            Context context = contextWithDensity(density);
+            LayoutHelper.Builder builder = new LayoutHelper.Builder(context);
+
+            for (int[] size : SIZES) {
+                int w = size[0];
+                int h = size[1];
+
+                assertSameFrame(LayoutHelper.makeFrame(context, w, h), builder.setSize(w, h).buildFrame());
+                assertSameFrame(LayoutHelper.makeFrame(context, w, h, GRAVITY), builder.setSize(w, h).setGravity(GRAVITY).buildFrame());
+                assertSameFrame(LayoutHelper.makeFrame(context, w, h, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildFrame());
+                assertSameFrame(LayoutHelper.makeFrame(context, w, h, GRAVITY, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setGravity(GRAVITY).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildFrame());
+            }
+        }
+    }
+
+    @Test
+    public void builderMatchesMakeLinear() {
+        for (float density : DENSITIES) {
+            Context context = contextWithDensity(density);
+            LayoutHelper.Builder builder = new LayoutHelper.Builder(context);
+
+            for (int[] size : SIZES) {
+                int w = size[0];
+                int h = size[1];
+
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h), builder.setSize(w, h).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, GRAVITY), builder.setSize(w, h).setGravity(GRAVITY).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, WEIGHT), builder.setSize(w, h).setWeight(WEIGHT).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, GRAVITY, WEIGHT), builder.setSize(w, h).setGravity(GRAVITY).setWeight(WEIGHT).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, GRAVITY, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setGravity(GRAVITY).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, WEIGHT, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setWeight(WEIGHT).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildLinear());
+                assertSameLinear(LayoutHelper.makeLinear(context, w, h, GRAVITY, WEIGHT, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setGravity(GRAVITY).setWeight(WEIGHT).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildLinear());
+            }
+        }
+    }
+
+    @Test
+    public void builderMatchesMakeRelative() {
+        for (float density : DENSITIES) {
+            Context context = contextWithDensity(density);
+            LayoutHelper.Builder builder = new LayoutHelper.Builder(context);
+
+            for (int[] size : SIZES) {
+                int w = size[0];
+                int h = size[1];
+
+                assertSameRelative(LayoutHelper.makeRelative(context, w, h), builder.setSize(w, h).buildRelative());
+                assertSameRelative(LayoutHelper.makeRelative(context, w, h, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildRelative());
+                assertSameRelative(LayoutHelper.makeRelative(context, w, h, RelativeLayout.CENTER_IN_PARENT), builder.setSize(w, h).addRule(RelativeLayout.CENTER_IN_PARENT).buildRelative());
+                assertSameRelative(LayoutHelper.makeRelative(context, w, h, RelativeLayout.BELOW, 42), builder.setSize(w, h).addRule(RelativeLayout.BELOW, 42).buildRelative());
+                assertSameRelative(LayoutHelper.makeRelative(context, w, h, RelativeLayout.ALIGN_PARENT_END, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).addRule(RelativeLayout.ALIGN_PARENT_END).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildRelative());
+                assertSameRelative(LayoutHelper.makeRelative(context, w, h, RelativeLayout.BELOW, 42, MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]), builder.setSize(w, h).addRule(RelativeLayout.BELOW, 42).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildRelative());
+            }
+        }
+    }
+
+    @Test
+    public void builderResetsAfterBuild() {
+        Context context = contextWithDensity(2.0f);
+        LayoutHelper.Builder builder = new LayoutHelper.Builder(context);
+
+        builder.setSize(48, 48).setGravity(GRAVITY).setWeight(WEIGHT).setMargins(MARGINS[0], MARGINS[1], MARGINS[2], MARGINS[3]).buildLinear();
+        assertSameLinear(LayoutHelper.makeLinear(context, LayoutHelper.WRAP_CONTENT, LayoutHelper.WRAP_CONTENT), builder.buildLinear());
+    }
+
+    private static void assertSameFrame(FrameLayout.LayoutParams expected, FrameLayout.LayoutParams actual) {
+        assertSameMargins(expected, actual);
+        assertEquals("gravity", expected.gravity, actual.gravity);
+    }
+
+    private static void assertSameLinear(LinearLayout.LayoutParams expected, LinearLayout.LayoutParams actual) {
+        assertSameMargins(expected, actual);
+        assertEquals("gravity", expected.gravity, actual.gravity);
+        assertEquals("weight", expected.weight, actual.weight, 0f);
+    }
+
+    private static void assertSameRelative(RelativeLayout.LayoutParams expected, RelativeLayout.LayoutParams actual) {
+        assertSameMargins(expected, actual);
+        assertTrue("rules", Arrays.equals(expected.getRules(), actual.getRules()));
+    }
+
+    // The stubbed LayoutParams constructors leave width and height unset on the JVM, so there
+    // they only match trivially; builderDpMatchesExtensionsDp covers the sizes themselves.
+    private static void assertSameMargins(ViewGroup.MarginLayoutParams expected, ViewGroup.MarginLayoutParams actual) {
+        assertEquals("width", expected.width, actual.width);
+        assertEquals("height", expected.height, actual.height);
+        assertEquals("leftMargin", expected.leftMargin, actual.leftMargin);
+        assertEquals("topMargin", expected.topMargin, actual.topMargin);
+        assertEquals("rightMargin", expected.rightMargin, actual.rightMargin);
+        assertEquals("bottomMargin", expected.bottomMargin, actual.bottomMargin);
+    }
+
+    // android.jar is stubbed in unit tests, so only the density lookup is faked.
+    private static Context contextWithDensity(float density) {
+        final DisplayMetrics metrics = new DisplayMetrics();
+        metrics.density = density;
+
+        final Resources resources = new Resources(null, metrics, null) {
+            @Override
+            public DisplayMetrics getDisplayMetrics() {
+                return metrics;
+            }
+        };
+
+        return new ContextWrapper(null) {
+            @Override
+            public Resources getResources() {
+                return resources;
+            }
+        };
+    }
+}
\ No newline at end of file
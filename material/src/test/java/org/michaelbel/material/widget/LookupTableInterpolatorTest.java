@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import android.view.animation.Interpolator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("all")
+public class LookupTableInterpolatorTest {
+
+    private static final float TOLERANCE = 1e-4f;
+
+    // The framework interpolators are stubs on the JVM, so their curves are written out here.
+    private static final Interpolator ACCELERATE_DECELERATE = new Interpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    };
+
+    private static final Interpolator DECELERATE = new Interpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (1.0f - Math.pow((1.0f - input), 2 * 1.5f));
+        }
+    };
+
+    private static final Interpolator OVERSHOOT = new Interpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            float tension = 2.0f;
+            input -= 1.0f;
+            return input * input * ((tension + 1) * input + tension) + 1.0f;
+        }
+    };
+
+    @Test
+    public void matchesSourceCurves() {
+        assertAccurate(ACCELERATE_DECELERATE);
+        assertAccurate(DECELERATE);
+        assertAccurate(OVERSHOOT);
+    }
+
+    @Test
+    public void hitsEndpointsAndClamps() {
+        LookupTableInterpolator interpolator = LookupTableInterpolator.obtain(OVERSHOOT);
+
+        assertEquals(OVERSHOOT.getInterpolation(0), interpolator.getInterpolation(0), 0);
+        assertEquals(OVERSHOOT.getInterpolation(1), interpolator.getInterpolation(1), 0);
+        assertEquals(interpolator.getInterpolation(0), interpolator.getInterpolation(-0.5f), 0);
+        assertEquals(interpolator.getInterpolation(1), interpolator.getInterpolation(1.5f), 0);
+    }
+
+    @Test
+    public void sharesTablePerSource() {
+        LookupTableInterpolator interpolator = LookupTableInterpolator.obtain(DECELERATE);
+
+        assertSame(interpolator, LookupTableInterpolator.obtain(DECELERATE));
+        assertSame(interpolator, LookupTableInterpolator.obtain(interpolator));
+    }
+
+    private static void assertAccurate(Interpolator source) {
+        LookupTableInterpolator interpolator = LookupTableInterpolator.obtain(source);
+        float maxError = 0;
+
+        for (int i = 0; i <= 10000; i++) {
+            float input = i / 10000f;
+            maxError = Math.max(maxError, Math.abs(source.getInterpolation(input) - interpolator.getInterpolation(input)));
+        }
+
+        assertTrue("max error " + maxError, maxError < TOLERANCE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+@SuppressWarnings("all")
+public class MediaControlDrawableTest {
+
+    private static final int FRAME_COUNT = 1000;
+
+    @Test
+    public void transitionFramesDoNotAllocate() {
+        assumeTrue(Allocations.isSupported());
+
+        // The animator never ticks on the JVM, so the drawable stays between the two states.
+        final MediaControlDrawable drawable = new MediaControlDrawable(0xFF000000, 0, MediaControlDrawable.State.PLAY, null, 300);
+        drawable.setMediaControlState(MediaControlDrawable.State.PAUSE);
+
+        long allocated = Allocations.measure(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < FRAME_COUNT; i++) {
+                    float fraction = (float) i / (FRAME_COUNT - 1);
+                    drawable.setTransitionState(fraction * 90F, fraction);
+                }
+            }
+        });
+
+        assertEquals(0, allocated);
+    }
+}
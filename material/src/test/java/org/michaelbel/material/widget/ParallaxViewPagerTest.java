@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015 Michael Bel
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.michaelbel.material.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+@SuppressWarnings("all")
+public class ParallaxViewPagerTest {
+
+    private static final float TOLERANCE = 1e-3f;
+
+    @Test
+    public void computesOverlayTranslation() {
+        // Linear interpolation: a page half way in moves by half of (width - outset), minus its own offset.
+        assertEquals(-200f, ParallaxViewPager.computeTranslationX(0.5f, 0.5f, 1000, 400), TOLERANCE);
+        assertEquals(0f, ParallaxViewPager.computeTranslationX(0f, 0f, 1000, 400), TOLERANCE);
+        assertEquals(-400f, ParallaxViewPager.computeTranslationX(1f, 1f, 1000, 400), TOLERANCE);
+        assertEquals(200f, ParallaxViewPager.computeTranslationX(-0.5f, 0.5f, 1000, 400), TOLERANCE);
+    }
+
+    @Test
+    public void transformDoesNotAllocate() {
+        assumeTrue(Allocations.isSupported());
+
+        final float[] sink = new float[1];
+        long allocated = Allocations.measure(new Runnable() {
+            @Override
+            public void run() {
+                float sum = 0;
+                for (int i = 0; i < 1000; i++) {
+                    float position = (i % 200 - 100) / 100f;
+                    sum += ParallaxViewPager.computeTranslationX(position, Math.abs(position), 1080, 540);
+                }
+                sink[0] = sum;
+            }
+        });
+
+        assertEquals(0, allocated);
+    }
+}